@@ -0,0 +1,66 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.dto.SectionRow;
+import com.kaustack.catalog.model.Schedule;
+import com.kaustack.catalog.model.Section;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO mapping of one page of search results, from hydrated entities and from projection rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogMapperBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    @Param({"2"})
+    int schedulesPerSection;
+
+    private final CatalogMapper mapper = new CatalogMapper();
+    private List<Section> page;
+    private List<SectionRow> rows;
+
+    @Setup
+    public void setUp() {
+        page = new SyntheticCatalog(pageSize, 1, schedulesPerSection).sections;
+
+        rows = new ArrayList<>();
+        for (Section s : page) {
+            for (Schedule sch : s.getSchedules()) {
+                rows.add(new SectionRow(s.getId(), s.getCrn(), s.getCode(), s.getBranch(), s.getScheduleType(), s.getSortKey(),
+                        s.getCourse().getId(), s.getCourse().getTitle(), s.getCourse().getCode(), s.getCourse().getNumber(),
+                        s.getCourse().getCredits(), s.getTerm().getName(),
+                        s.getInstructor() != null ? s.getInstructor().getName() : null,
+                        s.getInstructor() != null ? s.getInstructor().getEmail() : null,
+                        sch.getId(), sch.getType(), sch.getDays(), sch.getRawTime(), sch.getLocation(),
+                        sch.getInstructor() != null ? sch.getInstructor().getName() : null));
+            }
+        }
+    }
+
+    @Benchmark
+    public void toDTO(Blackhole blackhole) {
+        for (Section section : page) {
+            SectionDTO dto = mapper.toDTO(section);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public Map<String, SectionDTO> toDTOsFromRows() {
+        return mapper.toDTOs(rows);
+    }
+}
@@ -0,0 +1,80 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.DayMask;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The snapshot-backed read paths behind {@code /courses}, {@code /courses?grouped=true}, the schedule filters of
+ * {@code /courses/sections} and the sync refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"200", "2000"})
+    int courses;
+
+    @Param({"6"})
+    int sectionsPerCourse;
+
+    @Param({"2"})
+    int schedulesPerSection;
+
+    private SyntheticCatalog catalog;
+    private CatalogSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        catalog = new SyntheticCatalog(courses, sectionsPerCourse, schedulesPerSection);
+        snapshot = catalog.snapshot();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> searchCoursesByCode() {
+        return snapshot.searchCourses("cpcs 2");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> searchCoursesByTitle() {
+        return snapshot.searchCourses("data struct");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> searchCoursesArabic() {
+        return snapshot.searchCourses("البرمجه");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> searchCoursesNoQuery() {
+        return snapshot.searchCourses(null);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> groupSections() {
+        return snapshot.groupSections(null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> groupSectionsFiltered() {
+        return snapshot.groupSections("cpcs", "A", "طالبات");
+    }
+
+    // "Between 10:00 and 12:00 on MW"
+    @Benchmark
+    public List<String> sectionIdsBySchedule() {
+        return snapshot.sectionIdsBySchedule(DayMask.of("MW"), DayMask.Match.ALL, 600, 720);
+    }
+
+    @Benchmark
+    public CatalogSnapshot buildSnapshot() {
+        return catalog.snapshot();
+    }
+}
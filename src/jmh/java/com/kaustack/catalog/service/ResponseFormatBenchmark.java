@@ -0,0 +1,80 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.config.WebConfig;
+import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.model.Section;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a full-term {@code /courses/sections} response as JSON, Smile and CBOR, with the mappers
+ * the web layer uses. Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"200", "2000"})
+    int courses;
+
+    @Param({"6"})
+    int sectionsPerCourse;
+
+    @Param({"2"})
+    int schedulesPerSection;
+
+    private final JsonMapper json = JsonMapper.shared();
+    private final SmileMapper smile = WebConfig.smileMapper();
+    private final CBORMapper cbor = WebConfig.cborMapper();
+
+    private Map<String, Object> response;
+
+    @Setup
+    public void setUp() {
+        CatalogMapper mapper = new CatalogMapper();
+        List<SectionDTO> sections = new SyntheticCatalog(courses, sectionsPerCourse, schedulesPerSection).sections.stream()
+                .map(mapper::toDTO)
+                .toList();
+        response = Map.of(
+                "status", "success",
+                "meta", Map.of("total", sections.size(), "page", 1, "totalPages", 1),
+                "data", sections
+        );
+
+        int jsonBytes = json.writeValueAsBytes(response).length;
+        System.out.printf("%n%d sections: json %d B, smile %d B (%.0f%%), cbor %d B (%.0f%%)%n",
+                sections.size(), jsonBytes,
+                size(smile), 100.0 * size(smile) / jsonBytes,
+                size(cbor), 100.0 * size(cbor) / jsonBytes);
+    }
+
+    private int size(ObjectMapper mapper) {
+        return mapper.writeValueAsBytes(response).length;
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return json.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] smile() {
+        return smile.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return cbor.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,51 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.model.SearchText;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request parsing of query parameters: search text, days and times.
+ * {@code DayMask.of} replaced the old {@code sortDays} when days became a bitmask.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchTextBenchmark {
+
+    @Param({"CPCS-203", "مقدمة في البرمجة", "مُقَدِّمَة فِي الـبرمجة", "Introduction to Data Structures"})
+    String text;
+
+    private String days = "RTU";
+    private String time = "13:30";
+
+    @Benchmark
+    public String normalize() {
+        return SearchText.normalize(text);
+    }
+
+    @Benchmark
+    public String compact() {
+        return SearchText.compact(text);
+    }
+
+    @Benchmark
+    public String[] tokenize() {
+        return SearchText.tokenize(text);
+    }
+
+    @Benchmark
+    public int dayMask() {
+        return DayMask.of(days);
+    }
+
+    @Benchmark
+    public Integer parseTime() {
+        return CatalogService.parseTimeBytes(time);
+    }
+}
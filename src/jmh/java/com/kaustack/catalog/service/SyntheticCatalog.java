@@ -0,0 +1,98 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.Course;
+import com.kaustack.catalog.model.Instructor;
+import com.kaustack.catalog.model.Schedule;
+import com.kaustack.catalog.model.Section;
+import com.kaustack.catalog.model.Term;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic, entity-level term of a configurable size, shaped like the upstream catalog
+ * (mixed Latin/Arabic titles, male/female branches, a few recurring day patterns).
+ */
+final class SyntheticCatalog {
+
+    private static final String[] DEPARTMENTS = {"CPCS", "CPIT", "CPIS", "MATH", "STAT", "PHYS", "ARAB", "ISLS", "ELIS", "BIO"};
+    private static final String[] TITLE_WORDS = {"Introduction", "Programming", "Data", "Structures", "Systems",
+            "Analysis", "Advanced", "Design", "Theory", "Networks", "مقدمة", "البرمجة", "الإحصاء", "الفيزياء", "إدارة"};
+    private static final String[] DAYS = {"UT", "MW", "R", "UTR", "M", "W", "MWF"};
+    private static final String[] BRANCHES = {"طلاب", "طالبات", "طلاب - رابغ", "طالبات - الفيصلية"};
+
+    final Term term;
+    final List<Section> sections = new ArrayList<>();
+    final List<Schedule> schedules = new ArrayList<>();
+
+    SyntheticCatalog(int courses, int sectionsPerCourse, int schedulesPerSection) {
+        Random random = new Random(42);
+
+        term = new Term();
+        term.setId("term-bench");
+        term.setTermCode("202510");
+        term.setName("Fall 2025");
+        term.setUpdatedAt(LocalDateTime.of(2025, 9, 1, 0, 0));
+
+        List<Instructor> instructors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, courses / 2); i++) {
+            Instructor instructor = new Instructor();
+            instructor.setId("inst-" + i);
+            instructor.setName("Instructor " + TITLE_WORDS[i % TITLE_WORDS.length] + " " + i);
+            instructor.setEmail("inst" + i + "@example.edu");
+            instructors.add(instructor);
+        }
+
+        int crn = 10000;
+        for (int c = 0; c < courses; c++) {
+            Course course = new Course();
+            course.setId("course-" + c);
+            course.setCode(DEPARTMENTS[c % DEPARTMENTS.length]);
+            course.setNumber(String.valueOf(100 + c / DEPARTMENTS.length));
+            course.setTitle(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+            course.setCredits(3);
+            course.setLevel("Undergraduate");
+
+            for (int s = 0; s < sectionsPerCourse; s++) {
+                Instructor instructor = random.nextInt(10) == 0 ? null : instructors.get(random.nextInt(instructors.size()));
+
+                Section section = new Section();
+                section.setId(course.getId() + "-" + s);
+                section.setCrn(crn++);
+                section.setCode((s % 2 == 0 ? "A" : "B") + (s + 1));
+                section.setBranch(BRANCHES[s % BRANCHES.length]);
+                section.setScheduleType("Lecture");
+                section.setTerm(term);
+                section.setCourse(course);
+                section.setInstructor(instructor);
+
+                List<Schedule> sectionSchedules = new ArrayList<>();
+                for (int k = 0; k < schedulesPerSection; k++) {
+                    int start = 8 * 60 + random.nextInt(10) * 60;
+
+                    Schedule schedule = new Schedule();
+                    schedule.setId(section.getId() + "-" + k);
+                    schedule.setType(k == 0 ? "Lecture" : "Lab");
+                    schedule.setDays(DAYS[random.nextInt(DAYS.length)]);
+                    schedule.setStartTime(start);
+                    schedule.setEndTime(start + 50);
+                    schedule.setRawTime(start / 60 + ":00 - " + start / 60 + ":50");
+                    schedule.setLocation("Building " + random.nextInt(40));
+                    schedule.setSection(section);
+                    schedule.setInstructor(instructor);
+                    sectionSchedules.add(schedule);
+                }
+                section.setSchedules(sectionSchedules);
+
+                sections.add(section);
+                schedules.addAll(sectionSchedules);
+            }
+        }
+    }
+
+    CatalogSnapshot snapshot() {
+        return CatalogSnapshot.of(term, sections, schedules);
+    }
+}
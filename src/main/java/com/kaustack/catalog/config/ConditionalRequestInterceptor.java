@@ -0,0 +1,75 @@
+package com.kaustack.catalog.config;
+
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.service.TermRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Answers conditional GETs for term-scoped catalog endpoints before they reach the service layer.
+ * <p>
+ * Catalog data only changes when a sync bumps {@link Term#getUpdatedAt()}, so a weak ETag over the term
+ * version, path, response format and query parameters plus a matching {@code Last-Modified} identify a
+ * response exactly. Cached listings are tagged over the same normalized parameters as their
+ * {@link ResponseCacheFilter} entry.
+ * A client sending either back gets a {@code 304 Not Modified} with no query or serialization done.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private final TermRegistry termRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) return true;
+
+        // Unknown terms fall through so the controller can report them
+        Optional<Term> term = termRegistry.find(request.getParameter("termCode"));
+        if (term.isEmpty() || term.get().getUpdatedAt() == null) return true;
+
+        long lastModified = term.get().getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "W/\"" + version(term.get(), request) + "\"";
+
+        // Clients must revalidate, which is cheap now, instead of trusting a heuristic freshness lifetime
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // ResponseCacheFilter may have set it already
+        if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return !new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+    }
+
+    private String version(Term term, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(Objects.requireNonNullElse(WebConfig.binaryType(request), MediaType.APPLICATION_JSON)).append('|');
+
+        if (ResponseCacheFilter.isCachedListing(request)) {
+            // Requests that share a cache entry must get the same tag from it and from the controller
+            key.append(ResponseCacheFilter.key(request, term));
+        } else {
+            key.append(term.getId()).append('|')
+                    .append(term.getUpdatedAt()).append('|')
+                    .append(request.getRequestURI());
+            // Parameter order must not change the tag
+            for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                key.append('|').append(param.getKey()).append('=').append(String.join(",", param.getValue()));
+            }
+        }
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,191 @@
+package com.kaustack.catalog.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the connection pool. With virtual threads every request gets its own
+ * thread, so load is no longer capped by the servlet pool; without a limit they would all queue inside
+ * Hikari. Instead callers wait on a fair semaphore sized like the pool and give up after
+ * {@code app.datasource.admission.timeout-ms}, and the queue length and wait time are published as metrics.
+ * <p>
+ * {@code app.datasource.admission.reserved} of the permits are kept for work that holds connections for
+ * long, the catalog sync and the NDJSON export, which runs through {@link #runReserved}. That work waits
+ * for a reserved permit as long as it takes and never competes with request traffic for the others.
+ * <p>
+ * A permit is held from {@code getConnection()} until the connection is closed.
+ */
+@Component
+public class DataSourceAdmission implements BeanPostProcessor, MeterBinder {
+
+    // Set for the duration of runReserved, threads started meanwhile (staging writers, cleanup) inherit it
+    private static final InheritableThreadLocal<Boolean> RESERVED = new InheritableThreadLocal<>();
+
+    private final int requestPermits;
+    private final int reservedPermits;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final Semaphore reserved;
+
+    private volatile Timer waitTimer;
+
+    public DataSourceAdmission(@Value("${app.datasource.admission.permits:10}") int maxPermits,
+                               @Value("${app.datasource.admission.reserved:3}") int reservedPermits,
+                               @Value("${app.datasource.admission.timeout-ms:5000}") long timeoutMillis) {
+        if (reservedPermits < 1 || reservedPermits >= maxPermits) {
+            throw new IllegalArgumentException("app.datasource.admission.reserved must be between 1 and "
+                    + (maxPermits - 1) + ", was " + reservedPermits);
+        }
+        this.requestPermits = maxPermits - reservedPermits;
+        this.reservedPermits = reservedPermits;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(requestPermits, true);
+        this.reserved = new Semaphore(reservedPermits, true);
+    }
+
+    @FunctionalInterface
+    public interface Work<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Runs work that holds connections for long on the reserved permits, including connections taken by
+     * threads it starts.
+     */
+    public static <E extends Exception> void runReserved(Work<E> work) throws E {
+        Boolean previous = RESERVED.get();
+        RESERVED.set(Boolean.TRUE);
+        try {
+            work.run();
+        } finally {
+            RESERVED.set(previous);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionDataSource)) {
+            return new AdmissionDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.db.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .tag("permits", "request")
+                .register(registry);
+        Gauge.builder("catalog.db.admission.active", permits, p -> requestPermits - p.availablePermits())
+                .description("Database connection permits in use")
+                .tag("permits", "request")
+                .register(registry);
+        Gauge.builder("catalog.db.admission.waiting", reserved, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .tag("permits", "reserved")
+                .register(registry);
+        Gauge.builder("catalog.db.admission.active", reserved, p -> reservedPermits - p.availablePermits())
+                .description("Database connection permits in use")
+                .tag("permits", "reserved")
+                .register(registry);
+        waitTimer = Timer.builder("catalog.db.admission.wait")
+                .description("Time spent waiting for a database connection permit")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // Returns the semaphore the permit came from, which the connection releases on close
+    private Semaphore acquire() throws SQLException {
+        if (RESERVED.get() != null) {
+            try {
+                reserved.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a reserved database connection permit", e);
+            }
+            return reserved;
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        } finally {
+            Timer timer = waitTimer;
+            if (timer != null) timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException("No database connection permit available after " + timeoutMillis
+                    + " ms (" + permits.getQueueLength() + " waiting)");
+        }
+        return permits;
+    }
+
+    private Connection admitted(Connection connection, Semaphore permits) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private final class AdmissionDataSource extends DelegatingDataSource {
+
+        AdmissionDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Semaphore permits = acquire();
+            try {
+                return admitted(super.getConnection(), permits);
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Semaphore permits = acquire();
+            try {
+                return admitted(super.getConnection(username, password), permits);
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.kaustack.catalog.config;
+
+import com.kaustack.catalog.misc.CatalogSyncedEvent;
+import com.kaustack.catalog.model.SearchText;
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.service.TermRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.Channels;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the gzip-encoded JSON of the catalog listings ({@code /courses}, including the grouped view,
+ * and {@code /instructors}) in native memory, outside the Java heap.
+ * <p>
+ * Entries are keyed by path, term version and normalized query parameters, evicted least recently
+ * used once {@code app.cache.max-bytes} is reached, and dropped as a whole after every sync. A hit is
+ * copied from native memory to the response without building or serializing the listing again; clients
+ * that do not accept gzip get it inflated on the way out.
+ * <p>
+ * Each entry owns an {@link Arena} that is closed once the entry is dropped and no response is still
+ * reading it, so the memory is freed right away rather than whenever the GC gets to it.
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CACHED_PATHS = Set.of("/courses", "/instructors");
+
+    private final TermRegistry termRegistry;
+    private final long maxBytes;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    public ResponseCacheFilter(TermRegistry termRegistry, MeterRegistry meterRegistry,
+                               @Value("${app.cache.max-bytes:67108864}") long maxBytes) {
+        this.termRegistry = termRegistry;
+        this.maxBytes = maxBytes;
+        this.hits = meterRegistry.counter("catalog.response.cache", "result", "hit");
+        this.misses = meterRegistry.counter("catalog.response.cache", "result", "miss");
+        Gauge.builder("catalog.response.cache.bytes", this, ResponseCacheFilter::usedBytes)
+                .description("Off-heap bytes held by cached responses")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Only JSON is cached, Smile and CBOR responses are always rendered
+        return !isCachedListing(request) || WebConfig.binaryType(request) != null;
+    }
+
+    /**
+     * Whether the request is for one of the listings whose JSON is cached, see {@link #key}.
+     */
+    static boolean isCachedListing(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return "GET".equals(request.getMethod()) && CACHED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<Term> term = termRegistry.find(request.getParameter("termCode"));
+        if (term.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // The same URL is served gzipped or not, and as JSON or binary, depending on the client
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        // Built before the request runs, so a response can never be stored under a newer term version
+        String key = key(request, term.get());
+        Entry entry = acquire(key);
+        if (entry != null) {
+            hits.increment();
+            try {
+                if (new ServletWebRequest(request, response).checkNotModified(entry.etag, entry.lastModified)) return;
+                write(entry, request, response);
+            } finally {
+                release(entry);
+            }
+            return;
+        }
+        misses.increment();
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK
+                || wrapper.getContentType() == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType()))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        entry = put(key, gzip(wrapper.getContentAsByteArray()), wrapper);
+        if (entry == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        try {
+            if (acceptsGzip(request)) {
+                // Status and headers set by the controller and interceptors are already on the real response
+                wrapper.resetBuffer();
+                write(entry, request, response);
+            } else {
+                wrapper.copyBodyToResponse();
+            }
+        } finally {
+            release(entry);
+        }
+    }
+
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        synchronized (entries) {
+            entries.values().forEach(Entry::drop);
+            entries.clear();
+            usedBytes = 0;
+        }
+        log.info("Response cache cleared after catalog sync.");
+    }
+
+    // The entry stays readable until the matching release, even if it is evicted in between
+    private Entry acquire(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) entry.readers++;
+            return entry;
+        }
+    }
+
+    private void release(Entry entry) {
+        synchronized (entries) {
+            entry.readers--;
+            entry.closeIfUnused();
+        }
+    }
+
+    /**
+     * Stores the response and returns its entry acquired for the caller, or null when it is too large to cache.
+     */
+    private Entry put(String key, byte[] gzipped, HttpServletResponse response) {
+        // A single listing should never push out most of the cache
+        if (gzipped.length > maxBytes / 4) return null;
+
+        String lastModified = response.getHeader(HttpHeaders.LAST_MODIFIED);
+        Entry entry = new Entry(gzipped, response.getHeader(HttpHeaders.ETAG),
+                lastModified != null ? ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() : -1,
+                response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        synchronized (entries) {
+            entry.readers++;
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                usedBytes -= previous.size();
+                previous.drop();
+            }
+            usedBytes += entry.size();
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                usedBytes -= evicted.size();
+                evicted.drop();
+                eldest.remove();
+            }
+        }
+        return entry;
+    }
+
+    private void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (entry.cacheControl != null) response.setHeader(HttpHeaders.CACHE_CONTROL, entry.cacheControl);
+
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(entry.size());
+            // Each response reads through its own buffer view of the segment
+            Channels.newChannel(response.getOutputStream()).write(entry.body.asByteBuffer());
+        } else {
+            byte[] gzipped = entry.body.toArray(ValueLayout.JAVA_BYTE);
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+                StreamUtils.copy(in, response.getOutputStream());
+            }
+        }
+    }
+
+    /**
+     * Identifies a listing response. {@link ConditionalRequestInterceptor} derives the ETag from it too, so
+     * requests sharing an entry share a tag whether they were a hit or a miss.
+     */
+    static String key(HttpServletRequest request, Term term) {
+        StringBuilder key = new StringBuilder(request.getRequestURI())
+                .append('|').append(term.getId())
+                .append('|').append(term.getUpdatedAt());
+
+        // Listings match on folded text and treat empty parameters as absent, so these share an entry
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            if ("termCode".equals(param.getKey())) continue;
+            String value = String.join(",", param.getValue());
+            if (value.isEmpty()) continue;
+            if ("q".equals(param.getKey())) value = SearchText.normalize(value);
+            key.append('|').append(param.getKey()).append('=').append(value);
+        }
+        return key.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (OutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private double usedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    // Reader counts and the dropped flag are guarded by the entries lock
+    private static final class Entry {
+
+        private final Arena arena = Arena.ofShared();
+        private final MemorySegment body;
+        private final String etag;
+        private final long lastModified;
+        private final String cacheControl;
+        private int readers;
+        private boolean dropped;
+
+        Entry(byte[] gzipped, String etag, long lastModified, String cacheControl) {
+            MemorySegment segment = arena.allocate(gzipped.length);
+            MemorySegment.copy(MemorySegment.ofArray(gzipped), 0, segment, 0, gzipped.length);
+            this.body = segment.asReadOnly();
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+        }
+
+        int size() {
+            return (int) body.byteSize();
+        }
+
+        // Removed from the cache, the memory goes once the last response has been written
+        void drop() {
+            dropped = true;
+            closeIfUnused();
+        }
+
+        void closeIfUnused() {
+            if (dropped && readers == 0) arena.close();
+        }
+    }
+}
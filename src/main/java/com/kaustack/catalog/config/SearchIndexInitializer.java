@@ -0,0 +1,111 @@
+package com.kaustack.catalog.config;
+
+import com.kaustack.catalog.model.Course;
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.model.SearchText;
+import com.kaustack.catalog.model.Section;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prepares the search columns used by {@code CatalogService.search}.
+ * <p>
+ * Stale or missing column values, including section sort keys and schedule day masks, are recomputed
+ * at startup. On PostgreSQL the columns also get
+ * {@code pg_trgm} GIN indexes, which serve {@code LIKE '%q%'} without a sequential scan. Other databases
+ * (H2 locally and in tests) keep the plain indexes declared on the entities.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private static final List<String> TRIGRAM_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_course_search_key_trgm ON course USING gin (search_key gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_course_search_title_trgm ON course USING gin (search_title gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_instructor_search_name_trgm ON instructor USING gin (search_name gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        refresh();
+
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) return;
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            TRIGRAM_INDEXES.forEach(jdbcTemplate::execute);
+            log.info("Trigram search indexes are in place.");
+        } catch (Exception e) {
+            // Search still works, only slower; usually the role may not create extensions
+            log.warn("Could not create trigram search indexes: {}", e.getMessage());
+        }
+    }
+
+    // Recomputes every search column and writes the ones that differ, so rows from before the columns
+    // existed or from an older version of SearchText match queries folded the current way
+    private void refresh() {
+        List<Object[]> courses = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, code, number, title, search_key, search_title FROM course", rs -> {
+            String searchKey = Course.searchKeyOf(rs.getString("code"), rs.getString("number"));
+            String searchTitle = SearchText.normalize(rs.getString("title"));
+            if (!searchKey.equals(rs.getString("search_key")) || !searchTitle.equals(rs.getString("search_title"))) {
+                courses.add(new Object[]{searchKey, searchTitle, rs.getString("id")});
+            }
+        });
+        if (!courses.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE course SET search_key = ?, search_title = ? WHERE id = ?", courses);
+        }
+
+        List<Object[]> instructors = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name, search_name FROM instructor", rs -> {
+            String searchName = SearchText.normalize(rs.getString("name"));
+            if (!searchName.equals(rs.getString("search_name"))) {
+                instructors.add(new Object[]{searchName, rs.getString("id")});
+            }
+        });
+        if (!instructors.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE instructor SET search_name = ? WHERE id = ?", instructors);
+        }
+
+        // Keyset pagination never looks for null sort keys, so sections from before the column need one
+        List<Object[]> sections = new ArrayList<>();
+        jdbcTemplate.query("SELECT s.id, s.code, c.code AS course_code, c.number AS course_number"
+                + " FROM section s LEFT JOIN course c ON c.id = s.course_id WHERE s.sort_key IS NULL", rs -> {
+            sections.add(new Object[]{
+                    Section.sortKeyOf(rs.getString("course_code"), rs.getString("course_number"), rs.getString("code")),
+                    rs.getString("id")});
+        });
+        if (!sections.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE section SET sort_key = ? WHERE id = ?", sections);
+        }
+
+        // The schedule subquery filters on day_mask, which rows from before the column leave null
+        List<Object[]> schedules = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, days FROM schedule WHERE day_mask IS NULL", rs -> {
+            schedules.add(new Object[]{DayMask.of(rs.getString("days")), rs.getString("id")});
+        });
+        if (!schedules.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE schedule SET day_mask = ? WHERE id = ?", schedules);
+        }
+
+        if (!courses.isEmpty() || !instructors.isEmpty() || !sections.isEmpty() || !schedules.isEmpty()) {
+            log.info("Refreshed search columns for {} courses, {} instructors, {} sections and {} schedules.",
+                    courses.size(), instructors.size(), sections.size(), schedules.size());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.kaustack.catalog.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC statements a Hibernate session runs and the time spent in them. With open-in-view
+ * a session spans one request, so the totals are published per request, tagged with its URI pattern.
+ * <p>
+ * Hibernate creates one instance per session from {@code hibernate.session.events.auto}, so meters go
+ * through {@link Metrics#globalRegistry}, to which Spring Boot adds its registries.
+ */
+public class StatementMetricsListener implements SessionEventListener {
+
+    private static final String NONE = "none";
+
+    private int statements;
+    private long statementNanos;
+    private long start;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        statementNanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+        statementNanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+        statementNanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void end() {
+        if (statements == 0) return;
+
+        String uri = currentUri();
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("JDBC statements executed per request")
+                .tag("uri", uri)
+                .register(Metrics.globalRegistry)
+                .record(statements);
+        Timer.builder("hibernate.request.statement.time")
+                .description("Time spent preparing and executing JDBC statements per request")
+                .tag("uri", uri)
+                .register(Metrics.globalRegistry)
+                .record(statementNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Sessions opened outside a request (catalog sync, snapshot refresh) are grouped under "none"
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return NONE;
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : NONE;
+    }
+}
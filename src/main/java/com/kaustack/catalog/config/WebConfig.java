@@ -0,0 +1,86 @@
+package com.kaustack.catalog.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORFactory;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.cbor.CBORWriteFeature;
+import tools.jackson.dataformat.smile.SmileFactory;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Endpoints whose responses depend only on the term's catalog and the request parameters
+        registry.addInterceptor(conditionalRequestInterceptor)
+                .addPathPatterns("/courses", "/courses/sections", "/courses/sections/export", "/courses/*/sections",
+                        "/instructors", "/instructors/*");
+    }
+
+    /**
+     * Binary alternatives to JSON, chosen by the Accept header.
+     */
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper()))
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper()));
+    }
+
+    /**
+     * Section listings repeat the same keys and branch strings on every item, so both binary formats
+     * write repeated names and values as back-references.
+     * <p>
+     * The features are set on the factories: CBOR only opens the string reference namespace that way,
+     * enabling STRINGREF on the mapper alone writes references a reader cannot resolve.
+     */
+    public static SmileMapper smileMapper() {
+        return SmileMapper.builder(SmileFactory.builder()
+                        .enable(SmileWriteFeature.CHECK_SHARED_NAMES)
+                        .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .build();
+    }
+
+    public static CBORMapper cborMapper() {
+        return CBORMapper.builder(CBORFactory.builder()
+                        .enable(CBORWriteFeature.STRINGREF)
+                        .build())
+                .build();
+    }
+
+    /**
+     * The binary format a request asks for, or null when it wants JSON. The first of JSON, Smile or CBOR
+     * listed in Accept wins; wildcards and unparseable headers mean JSON.
+     */
+    static MediaType binaryType(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) return null;
+
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isWildcardType() || type.isWildcardSubtype()) continue;
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) return null;
+                if (type.isCompatibleWith(APPLICATION_SMILE)) return APPLICATION_SMILE;
+                if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) return MediaType.APPLICATION_CBOR;
+            }
+        } catch (InvalidMediaTypeException ignored) {}
+        return null;
+    }
+}
@@ -2,8 +2,6 @@ package com.kaustack.catalog.controller;
 
 import com.kaustack.catalog.dto.SectionDTO;
 import com.kaustack.catalog.model.Course;
-import com.kaustack.catalog.model.Section;
-import com.kaustack.catalog.service.CatalogMapper;
 import com.kaustack.catalog.service.CatalogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,9 +18,6 @@ public class CourseController {
     @Autowired
     private CatalogService catalogService;
 
-    @Autowired
-    private CatalogMapper mapper;
-
     @GetMapping
     public ResponseEntity<Map<String, Object>> getCourses(
             @RequestParam(required = false) String termCode,
@@ -73,8 +68,7 @@ public class CourseController {
         try {
             catalogService.getCourseById(courseId);
 
-            List<Section> sections = catalogService.getSectionsByCourse(termCode, courseId, gender);
-            List<SectionDTO> dtos = sections.stream().map(mapper::toDTO).toList();
+            List<SectionDTO> dtos = catalogService.getSectionsByCourse(termCode, courseId, gender);
 
             return ResponseEntity.ok(Map.of(
                     "status", "success",
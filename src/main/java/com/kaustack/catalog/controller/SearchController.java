@@ -1,34 +1,49 @@
 package com.kaustack.catalog.controller;
 
+import com.kaustack.catalog.config.DataSourceAdmission;
+import com.kaustack.catalog.dto.SectionBatchRequest;
 import com.kaustack.catalog.dto.SectionDTO;
-import com.kaustack.catalog.model.Section;
-import com.kaustack.catalog.service.CatalogMapper;
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.repository.SectionCursor;
 import com.kaustack.catalog.service.CatalogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/courses/sections")
 public class SearchController {
 
+    // Upper bound on CRNs plus course ids in one batch request
+    private static final int MAX_BATCH_SIZE = 200;
+
+    // Upper bound on sections in one cursor page
+    private static final int MAX_CURSOR_LIMIT = 100;
+
     @Autowired
     private CatalogService catalogService;
 
     @Autowired
-    private CatalogMapper mapper;
+    private JsonMapper jsonMapper;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> search(
             @RequestParam(required = false) String termCode,
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String days,
+            @RequestParam(required = false) String daysMatch,
             @RequestParam(required = false) String instructor,
             @RequestParam(required = false) String startTime,
             @RequestParam(required = false) String endTime,
@@ -38,16 +53,21 @@ public class SearchController {
             @RequestParam(required = false) String gender,
             @RequestParam(required = false) String branch,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor
     ) {
-        Page<Section> pageResult = catalogService.search(
-                termCode, q, page, limit, days, instructor,
+        // Cursor mode: "?cursor=" starts at the beginning, later pages pass back meta.nextCursor
+        if (cursor != null) {
+            return searchAfter(termCode, q, cursor, limit, days, DayMask.Match.from(daysMatch), instructor,
+                    startTime, endTime, level, crn, section, gender, branch);
+        }
+
+        Page<SectionDTO> pageResult = catalogService.search(
+                termCode, q, page, limit, days, DayMask.Match.from(daysMatch), instructor,
                 startTime, endTime, level, crn, section, gender, branch
         );
 
-        List<SectionDTO> dtos = pageResult.getContent().stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
+        List<SectionDTO> dtos = pageResult.getContent();
 
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
@@ -62,4 +82,125 @@ public class SearchController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Looks up many CRNs and/or course ids in one round trip, e.g. every course in a student's cart.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> batch(@RequestBody SectionBatchRequest request) {
+        int size = (request.getCrns() != null ? request.getCrns().size() : 0)
+                + (request.getCourseIds() != null ? request.getCourseIds().size() : 0);
+        if (size > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", "At most " + MAX_BATCH_SIZE + " CRNs and course ids per request"
+            ));
+        }
+
+        try {
+            Map<String, Object> data = catalogService.getSectionsBatch(
+                    request.getTermCode(), request.getCrns(), request.getCourseIds(), request.getGender());
+
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "data", data
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
+
+    /**
+     * Streams every section of the term as NDJSON, one section with its schedules per line, for consumers
+     * that mirror the whole term. Compressed on the fly when the client accepts gzip.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String termCode,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        Term term;
+        try {
+            term = catalogService.getTerm(termCode);
+        } catch (IllegalArgumentException e) {
+            // The body has to be a StreamingResponseBody here too, so the error is serialized by hand
+            return ResponseEntity.status(org.springframework.http.HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> jsonMapper.writeValue(out, Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    )));
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        // The export keeps its connection until the last row is written, so it runs on a reserved permit
+        StreamingResponseBody body = out -> DataSourceAdmission.runReserved(() -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                catalogService.exportSections(term, gzipOut);
+                gzipOut.finish();
+            } else {
+                catalogService.exportSections(term, out);
+            }
+        });
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
+    private ResponseEntity<Map<String, Object>> searchAfter(
+            String termCode, String q, String cursor, int limit, String days, DayMask.Match daysMatch,
+            String instructor, String startTime, String endTime,
+            String level, String crn, String section, String gender, String branch
+    ) {
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", "limit must be between 1 and " + MAX_CURSOR_LIMIT
+            ));
+        }
+
+        SectionCursor after;
+        try {
+            after = SectionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+            ));
+        }
+
+        Slice<SectionDTO> slice = catalogService.searchAfter(
+                termCode, q, after, limit, days, daysMatch, instructor,
+                startTime, endTime, level, crn, section, gender, branch
+        );
+
+        List<SectionDTO> dtos = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            SectionDTO last = dtos.getLast();
+            nextCursor = new SectionCursor(last.getSortKey(), last.getId()).encode();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("limit", limit);
+        meta.put("nextCursor", nextCursor);
+
+        response.put("meta", meta);
+        response.put("data", dtos);
+
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.kaustack.catalog.controller;
+
+import com.kaustack.catalog.dto.TimetableRequest;
+import com.kaustack.catalog.service.TimetableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/timetables")
+public class TimetableController {
+
+    // Upper bound on courses in one request, the search space grows exponentially with it
+    private static final int MAX_COURSES = 12;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    /**
+     * Generates clash-free timetables for the given courses, e.g. a student's cart.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> generate(@RequestBody TimetableRequest request) {
+        if (request.getCourseIds() == null || request.getCourseIds().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", "At least one course id is required"
+            ));
+        }
+        if (request.getCourseIds().size() > MAX_COURSES) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", "At most " + MAX_COURSES + " courses per request"
+            ));
+        }
+
+        try {
+            TimetableService.Timetables result = timetableService.generate(request);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("timetables", result.timetables());
+            data.put("sections", result.sections());
+
+            Map<String, Object> meta = new HashMap<>();
+            meta.put("count", result.timetables().size());
+            meta.put("complete", result.complete());
+            meta.put("unavailable", result.unavailable());
+
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "meta", meta,
+                    "data", data
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
+}
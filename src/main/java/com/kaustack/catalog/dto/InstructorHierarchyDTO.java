@@ -1,19 +1,25 @@
 package com.kaustack.catalog.dto;
 
-import lombok.Data;
-import java.util.ArrayList;
 import java.util.List;
 
-@Data
-public class InstructorHierarchyDTO {
-    private String name;
-    private String email;
-    private List<CourseGroup> courses = new ArrayList<>();
+/**
+ * An instructor with the courses and section codes they teach in a term. Immutable, since the term
+ * snapshot hands the same instances to every request.
+ */
+public record InstructorHierarchyDTO(String name, String email, List<CourseGroup> courses) {
 
-    @Data
-    public static class CourseGroup {
-        private String courseLabel; // "CPCS-203"
-        private String courseTitle; // "Programming II"
-        private List<String> sections = new ArrayList<>();
+    public InstructorHierarchyDTO {
+        courses = List.copyOf(courses);
     }
-}
\ No newline at end of file
+
+    /**
+     * @param courseLabel "CPCS-203"
+     * @param courseTitle "Programming II"
+     */
+    public record CourseGroup(String courseLabel, String courseTitle, List<String> sections) {
+
+        public CourseGroup {
+            sections = List.copyOf(sections);
+        }
+    }
+}
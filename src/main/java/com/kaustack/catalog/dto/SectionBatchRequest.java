@@ -0,0 +1,13 @@
+package com.kaustack.catalog.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SectionBatchRequest {
+    private String termCode;
+    private List<Integer> crns;
+    private List<String> courseIds;
+    private String gender;
+}
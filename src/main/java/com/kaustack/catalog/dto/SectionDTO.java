@@ -1,5 +1,6 @@
 package com.kaustack.catalog.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import java.util.List;
 
@@ -25,6 +26,10 @@ public class SectionDTO {
 
     private List<ScheduleDTO> schedules;
 
+    // Position for cursor pagination, not part of the response
+    @JsonIgnore
+    private String sortKey;
+
     @Data
     public static class ScheduleDTO {
         private String type;
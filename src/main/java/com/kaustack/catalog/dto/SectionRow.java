@@ -0,0 +1,15 @@
+package com.kaustack.catalog.dto;
+
+/**
+ * One section joined with one of its schedules, holding exactly the columns a {@link SectionDTO} shows.
+ * Sections without schedules come back once with {@code scheduleId == null}.
+ */
+public record SectionRow(
+        String id, Integer crn, String code, String branch, String scheduleType, String sortKey,
+        String courseId, String courseTitle, String courseCode, String courseNumber, Integer courseCredits,
+        String termName,
+        String instructorName, String instructorEmail,
+        String scheduleId, String scheduleKind, String scheduleDays, String scheduleTime, String scheduleRoom,
+        String scheduleInstructor
+) {
+}
@@ -0,0 +1,22 @@
+package com.kaustack.catalog.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TimetableRequest {
+    private String termCode;
+    private List<String> courseIds;
+    private String gender;
+    private String branch;
+
+    // Days without any class, e.g. "R"
+    private String daysOff;
+
+    // "HH:mm", inclusive bounds for every meeting
+    private String earliestStart;
+    private String latestEnd;
+
+    private Integer limit;
+}
@@ -0,0 +1,23 @@
+package com.kaustack.catalog.misc;
+
+import com.kaustack.catalog.model.Course;
+import com.kaustack.catalog.model.Instructor;
+import com.kaustack.catalog.model.Schedule;
+import com.kaustack.catalog.model.Section;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded slice of the upstream catalog, written to the staging tables as one unit.
+ */
+class CatalogBatch {
+    final List<Instructor> instructors = new ArrayList<>();
+    final List<Course> courses = new ArrayList<>();
+    final List<Section> sections = new ArrayList<>();
+    final List<Schedule> schedules = new ArrayList<>();
+
+    boolean isEmpty() {
+        return instructors.isEmpty() && courses.isEmpty() && sections.isEmpty() && schedules.isEmpty();
+    }
+}
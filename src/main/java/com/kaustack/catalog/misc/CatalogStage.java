@@ -0,0 +1,570 @@
+package com.kaustack.catalog.misc;
+
+import com.kaustack.catalog.model.Term;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Shadow copies of the catalog tables that a sync is written into before it goes live.
+ * <p>
+ * Readers keep using the live tables while the new catalog is downloaded, written and validated.
+ * {@link #index()} then gives the staged tables the keys and indexes of the live ones, and
+ * {@link #publish(Term)} renames them into place in a single transaction, so readers switch from the
+ * old catalog to the new one at commit and never see an empty or partial catalog. No catalog rows are
+ * deleted or copied while readers wait; the replaced tables are dropped afterwards by
+ * {@link #cleanUpAsync()}.
+ * {@link #publishDelta(Term)} instead applies only the rows that differ from the live catalog.
+ * <p>
+ * The staging tables have fixed names, so a sync holds {@link #tryLock()} from before
+ * {@link #prepare()} until {@link #cleanUpAsync()} has dropped them. On PostgreSQL that is an advisory
+ * lock, which keeps instances sharing the database from syncing over each other.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogStage {
+
+    // Parent tables first, the order rows are published in
+    static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("instructor", "id, name, email, search_name");
+        COLUMNS.put("course", "id, code, number, title, credits, level, search_key, search_title");
+        COLUMNS.put("section", "id, crn, term_id, course_id, instructor_id, code, branch, schedule_type, instruction_method, created_at, updated_at, sort_key");
+        COLUMNS.put("schedule", "id, type, start_time, end_time, raw_time, days, location, date_range, section_id, instructor_id, day_mask");
+    }
+
+    // Staged sections that are new or changed compared to the live table, see #publishDelta
+    private static final String SECTION_CHANGES = "stage_section_changes";
+
+    private static final String STAGE_PREFIX = "stage_";
+    // Live tables replaced by a publish, until they are dropped
+    private static final String RETIRED_PREFIX = "old_";
+
+    // Advisory lock id of the sync, any value other applications on the database do not use
+    private static final long SYNC_LOCK_ID = "com.kaustack.catalog.sync".hashCode();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Thread cleanup;
+    private volatile Boolean postgres;
+    // The session holding the advisory lock, from tryLock until the cleanup releases it
+    private volatile Connection lockConnection;
+
+    public static String stage(String table) {
+        return STAGE_PREFIX + table;
+    }
+
+    private static String retired(String name) {
+        return RETIRED_PREFIX + name;
+    }
+
+    /**
+     * Takes the lock on the staging tables for a sync, released once {@link #cleanUpAsync()} is done.
+     * Waits for this instance's previous cleanup, but not for another instance's sync.
+     *
+     * @return false if another instance is syncing
+     */
+    public boolean tryLock() throws InterruptedException {
+        // A previous cleanup must not drop the tables we are about to create
+        Thread pending = cleanup;
+        if (pending != null) pending.join();
+        if (!isPostgres()) return true;
+
+        Connection connection = null;
+        try {
+            connection = Objects.requireNonNull(jdbcTemplate.getDataSource()).getConnection();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, SYNC_LOCK_ID);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        lockConnection = connection;
+                        return true;
+                    }
+                }
+            }
+            connection.close();
+            return false;
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IllegalStateException("Failed to take the catalog sync lock", e);
+        }
+    }
+
+    /**
+     * Recreates empty, constraint-free copies of the live tables, dropping leftovers of an earlier run.
+     * Keys and indexes are only added by {@link #index()}, so bulk writes do not maintain them row by row.
+     */
+    public void prepare() {
+        for (String table : reversed(COLUMNS.keySet())) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + retired(table));
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + stage(table));
+        }
+        for (String table : COLUMNS.keySet()) {
+            // Every live column, the staged table takes the live one's place on publish
+            jdbcTemplate.execute("CREATE TABLE " + stage(table) + " AS SELECT * FROM " + table + " WHERE 1 = 0");
+        }
+        log.info("Staging tables prepared.");
+    }
+
+    /**
+     * Checks the staged catalog before it replaces the live one.
+     *
+     * @throws IllegalStateException if the staged data is empty or not referentially consistent
+     */
+    public void validate() {
+        long sections = count("SELECT COUNT(*) FROM stage_section");
+        if (sections == 0) {
+            throw new IllegalStateException("Staged catalog has no sections");
+        }
+
+        List<String> failures = new ArrayList<>();
+        check(failures, "sections without a staged course",
+                "SELECT COUNT(*) FROM stage_section s WHERE NOT EXISTS (SELECT 1 FROM stage_course c WHERE c.id = s.course_id)");
+        check(failures, "sections with an unknown instructor",
+                "SELECT COUNT(*) FROM stage_section s WHERE s.instructor_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM stage_instructor i WHERE i.id = s.instructor_id)");
+        check(failures, "schedules without a staged section",
+                "SELECT COUNT(*) FROM stage_schedule sch WHERE NOT EXISTS (SELECT 1 FROM stage_section s WHERE s.id = sch.section_id)");
+        check(failures, "duplicate section ids",
+                "SELECT COUNT(*) - COUNT(DISTINCT id) FROM stage_section");
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Staged catalog failed validation: " + String.join(", ", failures));
+        }
+        log.info("Staged catalog validated ({} sections).", sections);
+    }
+
+    /**
+     * Builds the primary keys, indexes and foreign keys of the live tables on the staged ones, named
+     * with the {@code stage_} prefix until {@link #publish} renames them. On PostgreSQL index definitions
+     * are copied verbatim, so trigram indexes keep their access method and operator class. Foreign keys
+     * to the term are added by {@link #publish}, once the term row exists.
+     *
+     * @throws IllegalStateException if the staged rows violate a key
+     */
+    public void index() {
+        Map<String, Shape> shapes = liveShapes();
+        try {
+            for (String table : COLUMNS.keySet()) {
+                Shape shape = shapes.get(table);
+                // CREATE TABLE AS keeps no NOT NULL constraints, and primary key columns need them
+                for (String column : shape.notNullColumns()) {
+                    jdbcTemplate.execute("ALTER TABLE " + stage(table) + " ALTER COLUMN " + column + " SET NOT NULL");
+                }
+                if (shape.primaryKey() != null) {
+                    jdbcTemplate.execute("ALTER TABLE " + stage(table) + " ADD CONSTRAINT " + stage(shape.primaryKey().name())
+                            + " PRIMARY KEY (" + String.join(", ", shape.primaryKey().columns()) + ")");
+                }
+                for (Index index : shape.indexes()) {
+                    jdbcTemplate.execute(stagedIndexDefinition(table, index));
+                }
+            }
+            // Parents have their primary keys by now
+            for (String table : COLUMNS.keySet()) {
+                for (ForeignKey key : shapes.get(table).foreignKeys()) {
+                    if (isStaged(key.target())) {
+                        jdbcTemplate.execute(foreignKeyDefinition(stage(table), stage(key.name()), key, stage(key.target())));
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Staged catalog violates a key: " + e.getMostSpecificCause().getMessage(), e);
+        }
+        log.info("Staged catalog indexed.");
+    }
+
+    /**
+     * Atomically swaps the staged tables in for the live ones by renaming both, which only touches the
+     * catalog metadata. Keys and indexes follow their tables and are renamed along, so the live tables
+     * keep the names Hibernate and {@code SearchIndexInitializer} expect. The replaced tables stay behind
+     * under an {@code old_} prefix until {@link #cleanUpAsync()} drops them.
+     * Concurrent readers keep seeing the previous catalog until the transaction commits.
+     */
+    public void publish(Term term) {
+        Map<String, Shape> shapes = liveShapes();
+        transactionTemplate.executeWithoutResult(status -> {
+            upsertTerm(term);
+
+            // The replaced tables must not keep the term rows or each other's names alive
+            for (String table : COLUMNS.keySet()) {
+                for (ForeignKey key : shapes.get(table).foreignKeys()) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + key.name());
+                }
+            }
+
+            for (String table : COLUMNS.keySet()) {
+                Shape shape = shapes.get(table);
+                jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + retired(table));
+                renameKeys(retired(table), shape, name -> name, CatalogStage::retired);
+
+                jdbcTemplate.execute("ALTER TABLE " + stage(table) + " RENAME TO " + table);
+                renameKeys(table, shape, CatalogStage::stage, name -> name);
+                for (ForeignKey key : shape.foreignKeys()) {
+                    if (isStaged(key.target())) {
+                        jdbcTemplate.execute("ALTER TABLE " + table + " RENAME CONSTRAINT " + stage(key.name()) + " TO " + key.name());
+                    } else {
+                        jdbcTemplate.execute(foreignKeyDefinition(table, key.name(), key, key.target()));
+                    }
+                }
+                log.info("  -> Published {}", table);
+            }
+
+            jdbcTemplate.update("DELETE FROM term WHERE id <> ?", term.getId());
+        });
+    }
+
+    /**
+     * Applies only the differences between the staged and the live catalog, in a single transaction.
+     * <p>
+     * Instructors and courses are compared column by column. Sections are compared by id, upstream
+     * {@code updated_at} and the linked instructor, which is not covered by the upstream timestamp.
+     * Schedules have no stable upstream id, so they are replaced for new and changed sections only.
+     * Rows missing from the payload are deleted. The term is only bumped when something changed, so
+     * clients' ETags and cached responses stay valid across no-op syncs.
+     */
+    public DeltaCounts publishDelta(Term term) {
+        String sectionColumns = COLUMNS.get("section");
+        String sectionValues = withoutId(sectionColumns);
+        String scheduleColumns = COLUMNS.get("schedule");
+
+        // DDL commits implicitly on some databases, so the change set is computed before the transaction
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + SECTION_CHANGES);
+        jdbcTemplate.execute("CREATE TABLE " + SECTION_CHANGES + " AS"
+                + " SELECT s.id, CASE WHEN l.id IS NULL THEN 1 ELSE 0 END AS is_new"
+                + " FROM stage_section s LEFT JOIN section l ON l.id = s.id"
+                + " WHERE l.id IS NULL"
+                + " OR l.updated_at IS DISTINCT FROM s.updated_at"
+                + " OR l.course_id IS DISTINCT FROM s.course_id"
+                + " OR l.instructor_id IS DISTINCT FROM s.instructor_id"
+                + " OR l.term_id IS DISTINCT FROM s.term_id");
+
+        return transactionTemplate.execute(status -> {
+            boolean newTerm = insertTermIfMissing(term);
+
+            // Parents first so new sections can reference them
+            Change instructors = upsert("instructor", "name, email, search_name");
+            Change courses = upsert("course", "code, number, title, credits, level, search_key, search_title");
+
+            Change sections = new Change(
+                    jdbcTemplate.update("INSERT INTO section (" + sectionColumns + ") SELECT " + prefixed("s", sectionColumns)
+                            + " FROM stage_section s JOIN " + SECTION_CHANGES + " c ON c.id = s.id WHERE c.is_new = 1"),
+                    jdbcTemplate.update("UPDATE section SET (" + sectionValues + ") = (SELECT " + sectionValues
+                            + " FROM stage_section s WHERE s.id = section.id)"
+                            + " WHERE id IN (SELECT id FROM " + SECTION_CHANGES + " WHERE is_new = 0)"),
+                    0);
+            // Unchanged sections of a course whose code or number changed, their schedules stay as they are
+            sections = sections.plusUpdated(jdbcTemplate.update("UPDATE section SET sort_key ="
+                    + " (SELECT s.sort_key FROM stage_section s WHERE s.id = section.id)"
+                    + " WHERE EXISTS (SELECT 1 FROM stage_section s WHERE s.id = section.id"
+                    + " AND s.sort_key IS DISTINCT FROM section.sort_key)"));
+
+            // Schedules of changed and vanished sections are replaced wholesale
+            int schedulesDeleted = jdbcTemplate.update("DELETE FROM schedule WHERE section_id IN (SELECT id FROM " + SECTION_CHANGES + ")"
+                    + " OR NOT EXISTS (SELECT 1 FROM stage_section s WHERE s.id = schedule.section_id)");
+            int schedulesInserted = jdbcTemplate.update("INSERT INTO schedule (" + scheduleColumns + ") SELECT " + prefixed("sch", scheduleColumns)
+                    + " FROM stage_schedule sch WHERE sch.section_id IN (SELECT id FROM " + SECTION_CHANGES + ")");
+            Change schedules = new Change(schedulesInserted, 0, schedulesDeleted);
+
+            // Children first when removing rows that left the catalog
+            sections = sections.withDeleted(jdbcTemplate.update(
+                    "DELETE FROM section WHERE NOT EXISTS (SELECT 1 FROM stage_section s WHERE s.id = section.id)"));
+            courses = courses.withDeleted(jdbcTemplate.update(
+                    "DELETE FROM course WHERE NOT EXISTS (SELECT 1 FROM stage_course s WHERE s.id = course.id)"));
+            instructors = instructors.withDeleted(jdbcTemplate.update(
+                    "DELETE FROM instructor WHERE NOT EXISTS (SELECT 1 FROM stage_instructor s WHERE s.id = instructor.id)"));
+
+            DeltaCounts counts = new DeltaCounts(instructors, courses, sections, schedules);
+            if (newTerm || counts.changed()) {
+                updateTerm(term);
+            }
+            jdbcTemplate.update("DELETE FROM term WHERE id <> ?", term.getId());
+
+            log.info("  -> Delta: instructors {}, courses {}, sections {}, schedules {}",
+                    instructors, courses, sections, schedules);
+            return counts;
+        });
+    }
+
+    /**
+     * Drops the tables replaced by {@link #publish} and whatever is left of the staging tables, off the
+     * request and sync path, then releases {@link #tryLock()}.
+     */
+    public void cleanUpAsync() {
+        cleanup = Thread.ofVirtual().name("catalog-stage-cleanup").start(() -> {
+            try {
+                for (String table : reversed(COLUMNS.keySet())) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + retired(table));
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + stage(table));
+                }
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + SECTION_CHANGES);
+                log.info("Replaced and staging tables dropped.");
+            } catch (Exception e) {
+                log.warn("Failed to drop replaced and staging tables, they will be dropped on the next sync", e);
+            } finally {
+                unlock();
+            }
+        });
+    }
+
+    private void unlock() {
+        Connection connection = lockConnection;
+        if (connection == null) return;
+        lockConnection = null;
+
+        // Session locks outlive the connection's return to the pool, so it is released explicitly
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, SYNC_LOCK_ID);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Failed to release the catalog sync lock, it is released when the connection closes", e);
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close connection", e);
+        }
+    }
+
+    private void upsertTerm(Term term) {
+        if (!insertTermIfMissing(term)) updateTerm(term);
+    }
+
+    private boolean insertTermIfMissing(Term term) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM term WHERE id = ?", Long.class, term.getId());
+        if (existing != null && existing > 0) return false;
+        jdbcTemplate.update("INSERT INTO term (id, name, term_code, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                term.getId(), term.getName(), term.getTermCode(),
+                Timestamp.valueOf(term.getCreatedAt()), Timestamp.valueOf(term.getUpdatedAt()));
+        return true;
+    }
+
+    private void updateTerm(Term term) {
+        jdbcTemplate.update("UPDATE term SET name = ?, updated_at = ? WHERE id = ?",
+                term.getName(), Timestamp.valueOf(term.getUpdatedAt()), term.getId());
+    }
+
+    /**
+     * Inserts staged rows missing from the live table and updates the ones whose columns differ.
+     */
+    private Change upsert(String table, String columns) {
+        String allColumns = COLUMNS.get(table);
+        String differs = Arrays.stream(columns.split(",\\s*"))
+                .map(c -> "s." + c + " IS DISTINCT FROM " + table + "." + c)
+                .collect(Collectors.joining(" OR "));
+
+        int updated = jdbcTemplate.update("UPDATE " + table + " SET (" + columns + ") = (SELECT " + columns
+                + " FROM " + stage(table) + " s WHERE s.id = " + table + ".id)"
+                + " WHERE EXISTS (SELECT 1 FROM " + stage(table) + " s WHERE s.id = " + table + ".id AND (" + differs + "))");
+        int inserted = jdbcTemplate.update("INSERT INTO " + table + " (" + allColumns + ") SELECT " + prefixed("s", allColumns)
+                + " FROM " + stage(table) + " s WHERE NOT EXISTS (SELECT 1 FROM " + table + " l WHERE l.id = s.id)");
+        return new Change(inserted, updated, 0);
+    }
+
+    // Primary key and index names are unique per schema, so both tables' are renamed around the swap
+    private void renameKeys(String table, Shape shape, UnaryOperator<String> from, UnaryOperator<String> to) {
+        if (shape.primaryKey() != null) {
+            String name = shape.primaryKey().name();
+            jdbcTemplate.execute("ALTER TABLE " + table + " RENAME CONSTRAINT " + from.apply(name) + " TO " + to.apply(name));
+        }
+        for (Index index : shape.indexes()) {
+            // H2 drops the indexes it created for a foreign key together with the key
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + from.apply(index.name()) + " RENAME TO " + to.apply(index.name()));
+        }
+    }
+
+    private String stagedIndexDefinition(String table, Index index) {
+        if (isPostgres()) {
+            String definition = jdbcTemplate.queryForObject("SELECT pg_get_indexdef(?::regclass)", String.class, index.name());
+            return definition
+                    .replaceFirst(" INDEX " + index.name() + " ON ", " INDEX " + stage(index.name()) + " ON ")
+                    .replaceFirst(" ON ((?:\\S+\\.)?)" + table + " USING ", " ON $1" + stage(table) + " USING ");
+        }
+        return "CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX " + stage(index.name())
+                + " ON " + stage(table) + " (" + String.join(", ", index.columns()) + ")";
+    }
+
+    private static String foreignKeyDefinition(String table, String name, ForeignKey key, String target) {
+        return "ALTER TABLE " + table + " ADD CONSTRAINT " + name
+                + " FOREIGN KEY (" + String.join(", ", key.columns()) + ")"
+                + " REFERENCES " + target + " (" + String.join(", ", key.targetColumns()) + ")";
+    }
+
+    private static boolean isStaged(String table) {
+        return COLUMNS.containsKey(table);
+    }
+
+    /**
+     * Reads the primary key, secondary indexes and foreign keys of each live catalog table from the
+     * JDBC metadata. Names come back as the database stores them, table names are lower-cased to
+     * match {@link #COLUMNS}.
+     */
+    private Map<String, Shape> liveShapes() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Shape>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String schema = connection.getSchema();
+
+            Map<String, Shape> shapes = new HashMap<>();
+            for (String table : COLUMNS.keySet()) {
+                String stored = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+                Key primaryKey = primaryKey(metaData, schema, stored);
+                shapes.put(table, new Shape(notNullColumns(metaData, schema, stored), primaryKey,
+                        indexes(metaData, schema, stored, primaryKey), foreignKeys(metaData, schema, stored)));
+            }
+            return shapes;
+        });
+    }
+
+    private static List<String> notNullColumns(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet rs = metaData.getColumns(null, schema, table, null)) {
+            while (rs.next()) {
+                if (rs.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls) columns.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        return columns;
+    }
+
+    private static Key primaryKey(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        String name = null;
+        SortedMap<Short, String> columns = new TreeMap<>();
+        try (ResultSet rs = metaData.getPrimaryKeys(null, schema, table)) {
+            while (rs.next()) {
+                name = rs.getString("PK_NAME");
+                columns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        }
+        return name != null ? new Key(name, List.copyOf(columns.values())) : null;
+    }
+
+    private static List<Index> indexes(DatabaseMetaData metaData, String schema, String table, Key primaryKey) throws SQLException {
+        Map<String, Boolean> unique = new LinkedHashMap<>();
+        Map<String, SortedMap<Short, String>> columns = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, schema, table, false, false)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) continue;
+                unique.put(name, !rs.getBoolean("NON_UNIQUE"));
+                columns.computeIfAbsent(name, n -> new TreeMap<>()).put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME"));
+            }
+        }
+
+        List<Index> indexes = new ArrayList<>();
+        unique.forEach((name, isUnique) -> {
+            List<String> indexColumns = List.copyOf(columns.get(name).values());
+            // The primary key's own index comes with the constraint
+            boolean primary = primaryKey != null && isUnique
+                    && (name.equals(primaryKey.name()) || indexColumns.equals(primaryKey.columns()));
+            if (!primary) indexes.add(new Index(name, isUnique, indexColumns));
+        });
+        return indexes;
+    }
+
+    private static List<ForeignKey> foreignKeys(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        Map<String, ForeignKey> keys = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getImportedKeys(null, schema, table)) {
+            while (rs.next()) {
+                ForeignKey key = keys.computeIfAbsent(rs.getString("FK_NAME"), name -> {
+                    try {
+                        return new ForeignKey(name, new ArrayList<>(), rs.getString("PKTABLE_NAME").toLowerCase(Locale.ROOT), new ArrayList<>());
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                key.columns().add(rs.getString("FKCOLUMN_NAME"));
+                key.targetColumns().add(rs.getString("PKCOLUMN_NAME"));
+            }
+        }
+        return List.copyOf(keys.values());
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = this.postgres;
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName()));
+            this.postgres = postgres;
+        }
+        return postgres;
+    }
+
+    private static List<String> reversed(Collection<String> tables) {
+        return new ArrayList<>(tables).reversed();
+    }
+
+    private static String withoutId(String columns) {
+        return columns.substring("id, ".length());
+    }
+
+    private static String prefixed(String alias, String columns) {
+        return Arrays.stream(columns.split(",\\s*"))
+                .map(c -> alias + "." + c)
+                .collect(Collectors.joining(", "));
+    }
+
+    private void check(List<String> failures, String description, String sql) {
+        long count = count(sql);
+        if (count > 0) failures.add(count + " " + description);
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+
+    public record Change(int inserted, int updated, int deleted) {
+
+        Change withDeleted(int rows) {
+            return new Change(inserted, updated, rows);
+        }
+
+        Change plusUpdated(int rows) {
+            return new Change(inserted, updated + rows, deleted);
+        }
+
+        @Override
+        public String toString() {
+            return "+" + inserted + " ~" + updated + " -" + deleted;
+        }
+    }
+
+    private record Shape(List<String> notNullColumns, Key primaryKey, List<Index> indexes, List<ForeignKey> foreignKeys) {
+    }
+
+    private record Key(String name, List<String> columns) {
+    }
+
+    private record Index(String name, boolean unique, List<String> columns) {
+    }
+
+    private record ForeignKey(String name, List<String> columns, String target, List<String> targetColumns) {
+    }
+
+    public record DeltaCounts(Change instructors, Change courses, Change sections, Change schedules) {
+
+        public boolean changed() {
+            return List.of(instructors, courses, sections, schedules).stream()
+                    .anyMatch(c -> c.inserted() + c.updated() + c.deleted() > 0);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.kaustack.catalog.misc;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link DataLoader} once a catalog sync has been written to the database, and by
+ * {@code TermRegistry} when it finds that another instance ran one.
+ * In-memory views of the catalog listen for it to rebuild themselves.
+ */
+public record CatalogSyncedEvent(String termCode, LocalDateTime syncedAt) {
+}
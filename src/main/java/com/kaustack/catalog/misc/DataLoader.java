@@ -1,27 +1,34 @@
 package com.kaustack.catalog.misc;
 
+import com.kaustack.catalog.config.DataSourceAdmission;
 import com.kaustack.catalog.model.*;
 import com.kaustack.catalog.repository.*;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.sql.Timestamp;
+import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Component
 @RequiredArgsConstructor
@@ -31,10 +38,18 @@ public class DataLoader implements CommandLineRunner {
     private final TermRepository termRepository;
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogStage stage;
+    private final BulkWriter bulkWriter;
+    private final SyncTimings timings;
 
     @Value("${app.data.load:false}")
     private boolean load;
 
+    // "full" replaces the live catalog on every sync, "delta" only applies what changed upstream
+    @Value("${app.data.mode:full}")
+    private String mode;
+
     @Value("${app.data.courses-url}")
     private String coursesUrl;
 
@@ -49,7 +64,24 @@ public class DataLoader implements CommandLineRunner {
             log.info("Data loading is disabled (app.data.load=false). Skipping catalog sync.");
             return;
         }
+        sync();
+    }
+
+    /**
+     * Re-syncs on {@code app.data.cron}, disabled by default. Meant for delta mode, where a sync
+     * that finds nothing new leaves the live catalog, term version and caches untouched.
+     */
+    @Scheduled(cron = "${app.data.cron:-}")
+    public void scheduledSync() throws Exception {
+        if (load) sync();
+    }
+
+    // A sync holds the lock connection throughout and writes on several more, all on reserved permits
+    private synchronized void sync() throws Exception {
+        DataSourceAdmission.runReserved(this::runSync);
+    }
 
+    private void runSync() throws Exception {
         long startTime = System.currentTimeMillis();
         log.info("=== Starting High-Speed Catalog Data Sync ===");
 
@@ -57,61 +89,205 @@ public class DataLoader implements CommandLineRunner {
         HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
         this.customRestTemplate = new RestTemplate(factory);
 
-        loadCourses();
-        loadInstructors();
+        // Instances sharing the database skip a run another one is doing, it publishes the same upstream catalog
+        if (!stage.tryLock()) {
+            log.info("Another instance is syncing the catalog, skipping this run.");
+            return;
+        }
 
-        long endTime = System.currentTimeMillis();
-        log.info("=== Catalog Data Sync Complete in {} ms ===", (endTime - startTime));
-    }
+        // Everything is written to staging tables, the live catalog is replaced only once it validates
+        timings.reset();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            stage.prepare();
 
-    private void nukeDatabase() {
-        log.info("Nuking the database using ultra-fast native queries...");
-        jdbcTemplate.execute("DELETE FROM schedule");
-        jdbcTemplate.execute("DELETE FROM section");
-        jdbcTemplate.execute("DELETE FROM course");
-        jdbcTemplate.execute("DELETE FROM instructor");
-        jdbcTemplate.execute("DELETE FROM term");
-        log.info("Database cleared successfully!");
-    }
+            // The instructors payload is independent of the courses one, download it in the meantime
+            Future<List<InstructorData>> instructors = executor.submit(
+                    () -> timings.time("load.instructors", this::fetchInstructors));
 
-    private void loadCourses() throws Exception {
-        log.info("[1/5] Fetching courses...");
+            // Download, parsing and staging overlap, each is also timed on its own
+            Term term = timings.time("load.courses", this::loadCourses);
+            if (term == null) return;
 
-        String rawJson = customRestTemplate.getForObject(coursesUrl, String.class);
+            linkInstructors(instructors.get());
 
-        if (rawJson == null || rawJson.isBlank()) {
-            log.warn("No valid course data received from API. Aborting course load.");
-            return;
+            try {
+                timings.time("validate", () -> {
+                    stage.validate();
+                    return null;
+                });
+                if (!"delta".equals(mode)) {
+                    // Built before the swap so the live tables are never without their indexes
+                    timings.time("index", () -> {
+                        stage.index();
+                        return null;
+                    });
+                }
+            } catch (IllegalStateException e) {
+                log.error("Catalog sync aborted, keeping the current catalog: {}", e.getMessage());
+                return;
+            }
+
+            if ("delta".equals(mode)) {
+                log.info("Applying changes to the live catalog...");
+                CatalogStage.DeltaCounts counts = timings.time("publish", () -> stage.publishDelta(term));
+                if (!counts.changed()) {
+                    log.info("Catalog is unchanged upstream, nothing to publish.");
+                    return;
+                }
+            } else {
+                log.info("Switching readers over to the new catalog...");
+                timings.time("publish", () -> {
+                    stage.publish(term);
+                    return null;
+                });
+            }
+            eventPublisher.publishEvent(new CatalogSyncedEvent(term.getTermCode(), term.getUpdatedAt()));
+        } finally {
+            stage.cleanUpAsync();
+            timings.log();
         }
 
-        CoursesApiResponse response = objectMapper.readValue(rawJson, CoursesApiResponse.class);
+        long endTime = System.currentTimeMillis();
+        log.info("=== Catalog Data Sync Complete in {} ms ===", (endTime - startTime));
+    }
 
-        if (!"success".equals(response.getStatus()) || response.getData() == null) {
-            log.warn("API returned unsuccessful status or empty data. Aborting course load.");
-            return;
+    private Term loadCourses() throws Exception {
+        log.info("[1/5] Streaming courses from upstream...");
+
+        long requested = System.nanoTime();
+        CourseStreamResult result = customRestTemplate.execute(coursesUrl, HttpMethod.GET, null,
+                response -> {
+                    long awaitingResponse = System.nanoTime() - requested;
+                    NetworkTimedInputStream body = new NetworkTimedInputStream(response.getBody());
+                    try {
+                        return streamCourses(body);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while staging courses", e);
+                    } finally {
+                        timings.record("fetch.courses", 0, awaitingResponse + body.nanos());
+                    }
+                });
+
+        if (result == null || result.courses() == 0) {
+            log.warn("No valid course data received from API. Aborting course load.");
+            return null;
         }
+        if (!"success".equals(result.status())) {
+            log.warn("API returned unsuccessful status ({}). Aborting course load.", result.status());
+            return null;
+        }
+
+        log.info("[4/5] Streamed {} courses into staging tables.", result.courses());
+        log.info("  -> Staging tables written via {}", bulkWriter.describePath());
+
+        // Reuse the existing term row so its id stays stable across syncs
+        LocalDateTime now = LocalDateTime.now();
+        Term term = termRepository.findByTermCode(result.termCode()).orElseGet(() -> {
+            Term created = new Term();
+            created.setId(UUID.randomUUID().toString());
+            created.setCreatedAt(now);
+            return created;
+        });
+        term.setName(result.termName());
+        term.setTermCode(result.termCode());
+        term.setUpdatedAt(now);
+
+        // The term may only appear after the data array in the payload, so sections are linked last
+        jdbcTemplate.update("UPDATE stage_section SET term_id = ?", term.getId());
+
+        log.info("[5/5] Phase 1 staged via native network batching.");
+        return term;
+    }
 
-        log.info("[2/5] Successfully downloaded {} courses.", response.getData().size());
+    /**
+     * Reads the courses payload token by token. Only one course and at most a couple of
+     * {@link CatalogBatch}es are held in memory at any time, the rest is already in the staging tables.
+     */
+    private CourseStreamResult streamCourses(NetworkTimedInputStream body) throws IOException, InterruptedException {
+        String status = null;
+        String termName = null;
+        String termCode = null;
+        int courseCount = 0;
+        long parseNanos = 0;
+
+        // Shared by the chunks being built concurrently
+        Map<String, Course> coursesByKey = new ConcurrentHashMap<>();
+        Set<String> stagedInstructors = ConcurrentHashMap.newKeySet();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body);
+             StagingWriter writer = new StagingWriter(bulkWriter, timings)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "status" -> status = parser.getValueAsString();
+                    case "termName" -> termName = parser.getValueAsString();
+                    case "termId" -> termCode = parser.getValueAsString();
+                    case "data" -> {
+                        if (value != JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                            break;
+                        }
+                        log.info("[2/5] Reading course array...");
+                        log.info("[3/5] Building and staging batches of {} sections...", BulkWriter.BATCH_SIZE);
+
+                        // Parsing stays on this thread, chunks are turned into batches in parallel
+                        List<CourseData> chunk = new ArrayList<>();
+                        int chunkSections = 0;
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            long parseStart = System.nanoTime();
+                            long readBefore = body.nanos();
+                            CourseData cd = objectMapper.readValue(parser, CourseData.class);
+                            // Waiting for the bytes counts as fetching
+                            parseNanos += System.nanoTime() - parseStart - (body.nanos() - readBefore);
+                            chunk.add(cd);
+                            chunkSections += cd.getSections() != null ? cd.getSections().size() : 0;
+                            courseCount++;
+
+                            if (chunkSections >= BulkWriter.BATCH_SIZE) {
+                                submitChunk(writer, chunk, coursesByKey, stagedInstructors);
+                                chunk = new ArrayList<>();
+                                chunkSections = 0;
+                            }
+                        }
+                        submitChunk(writer, chunk, coursesByKey, stagedInstructors);
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
 
-        nukeDatabase();
+            writer.await();
+            timings.record("parse.courses", courseCount, parseNanos);
+        } catch (IOException | InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to stage courses", e);
+        }
 
-        log.info("Saving new Term data via JPA...");
-        Term term = new Term();
-        term.setName(response.getTermName());
-        term.setTermCode(response.getTermId());
-        term.setUpdatedAt(LocalDateTime.now());
-        term.setCreatedAt(LocalDateTime.now());
-        term = termRepository.save(term);
+        return new CourseStreamResult(status, termName, termCode, courseCount);
+    }
 
-        log.info("[3/5] Building highly optimized memory structures...");
-        Map<String, Course> coursesToSave = new HashMap<>();
-        Map<String, Instructor> instructorsToSave = new HashMap<>();
-        List<Section> sectionsToSave = new ArrayList<>();
-        List<Schedule> schedulesToSave = new ArrayList<>();
+    private void submitChunk(StagingWriter writer, List<CourseData> chunk,
+                             Map<String, Course> coursesByKey, Set<String> stagedInstructors) throws InterruptedException {
+        writer.submit(() -> {
+            CatalogBatch batch = new CatalogBatch();
+            for (CourseData cd : chunk) {
+                addCourse(cd, batch, coursesByKey, stagedInstructors);
+            }
+            return batch;
+        });
+    }
 
-        for (CourseData cd : response.getData()) {
-            String courseKey = cd.getCourseCode() + "-" + cd.getCourseNumber();
-            Course course = new Course();
+    private void addCourse(CourseData cd, CatalogBatch batch, Map<String, Course> coursesByKey, Set<String> stagedInstructors) {
+        String courseKey = cd.getCourseCode() + "-" + cd.getCourseNumber();
+        Course course = coursesByKey.get(courseKey);
+        if (course == null) {
+            course = new Course();
             course.setId(cd.getId());
             course.setCode(cd.getCourseCode());
             course.setNumber(cd.getCourseNumber());
@@ -122,188 +298,180 @@ public class DataLoader implements CommandLineRunner {
                 course.setCredits(firstSection.getCredits());
                 course.setLevel(firstSection.getLevel());
             }
-            coursesToSave.put(courseKey, course);
-
-            if (cd.getSections() == null) continue;
-
-            for (SectionData sd : cd.getSections()) {
-                Instructor instructor = null;
-                if (sd.getInstructorId() != null && !sd.getInstructorId().isBlank()) {
-                    instructor = instructorsToSave.get(sd.getInstructorId());
-                    if (instructor == null) {
-                        instructor = new Instructor();
-                        instructor.setId(sd.getInstructorId());
-                        instructor.setName(sd.getInstructorId());
-                        instructorsToSave.put(sd.getInstructorId(), instructor);
-                    }
+            course.computeSearchColumns();
+            // Only the key and id are needed to link later sections, drop the rest of the course
+            Course ref = new Course();
+            ref.setId(course.getId());
+            ref.setCode(course.getCode());
+            ref.setNumber(course.getNumber());
+            Course existing = coursesByKey.putIfAbsent(courseKey, ref);
+            if (existing == null) {
+                batch.courses.add(course);
+            } else {
+                // Another chunk staged the same course first
+                course = existing;
+            }
+        }
+
+        if (cd.getSections() == null) return;
+
+        for (SectionData sd : cd.getSections()) {
+            Instructor instructor = null;
+            if (sd.getInstructorId() != null && !sd.getInstructorId().isBlank()) {
+                instructor = new Instructor();
+                instructor.setId(sd.getInstructorId());
+                instructor.setName(sd.getInstructorId());
+                instructor.computeSearchColumns();
+                if (stagedInstructors.add(sd.getInstructorId())) {
+                    batch.instructors.add(instructor);
                 }
+            }
 
-                Section section = new Section();
-                section.setId(sd.getId());
-                section.setCrn(sd.getCrn());
-                section.setTerm(term);
-                section.setCourse(course);
-                section.setInstructor(instructor);
-                section.setCode(sd.getCode());
-                section.setBranch(sd.getBranch());
-                section.setScheduleType(sd.getScheduleType());
-                section.setInstructionMethod(sd.getInstructionMethod());
-
-                if (sd.getCreatedAt() != null) section.setCreatedAt(Instant.parse(sd.getCreatedAt()).atZone(ZoneOffset.UTC).toLocalDateTime());
-                if (sd.getUpdatedAt() != null) section.setUpdatedAt(Instant.parse(sd.getUpdatedAt()).atZone(ZoneOffset.UTC).toLocalDateTime());
-
-                sectionsToSave.add(section);
-
-                if (sd.getSchedules() != null) {
-                    for (ScheduleData schd : sd.getSchedules()) {
-                        Schedule schedule = new Schedule();
-                        schedule.setId(UUID.randomUUID().toString());
-                        schedule.setSection(section);
-                        schedule.setInstructor(instructor);
-                        schedule.setType(schd.getType());
-                        schedule.setStartTime(schd.getStartTime());
-                        schedule.setEndTime(schd.getEndTime());
-                        schedule.setRawTime(schd.getRawTime());
-                        schedule.setDays(schd.getDays());
-                        schedule.setLocation(schd.getLocation());
-                        schedule.setDateRange(schd.getDateRange());
-                        schedulesToSave.add(schedule);
-                    }
+            Section section = new Section();
+            section.setId(sd.getId());
+            section.setCrn(sd.getCrn());
+            section.setCourse(course);
+            section.setInstructor(instructor);
+            section.setCode(sd.getCode());
+            section.setBranch(sd.getBranch());
+            section.setScheduleType(sd.getScheduleType());
+            section.setInstructionMethod(sd.getInstructionMethod());
+            section.setSortKey(Section.sortKeyOf(course.getCode(), course.getNumber(), sd.getCode()));
+
+            if (sd.getCreatedAt() != null) section.setCreatedAt(Instant.parse(sd.getCreatedAt()).atZone(ZoneOffset.UTC).toLocalDateTime());
+            if (sd.getUpdatedAt() != null) section.setUpdatedAt(Instant.parse(sd.getUpdatedAt()).atZone(ZoneOffset.UTC).toLocalDateTime());
+
+            batch.sections.add(section);
+
+            if (sd.getSchedules() != null) {
+                for (ScheduleData schd : sd.getSchedules()) {
+                    Schedule schedule = new Schedule();
+                    schedule.setId(UUID.randomUUID().toString());
+                    schedule.setSection(section);
+                    schedule.setInstructor(instructor);
+                    schedule.setType(schd.getType());
+                    schedule.setStartTime(schd.getStartTime());
+                    schedule.setEndTime(schd.getEndTime());
+                    schedule.setRawTime(schd.getRawTime());
+                    schedule.setDays(schd.getDays());
+                    schedule.setDayMask(DayMask.of(schd.getDays()));
+                    schedule.setLocation(schd.getLocation());
+                    schedule.setDateRange(schd.getDateRange());
+                    batch.schedules.add(schedule);
                 }
             }
         }
+    }
 
-        log.info("[4/5] Memory structures completely built. Initiating raw JDBC Batch Blast to PostgreSQL...");
-
-        int batchSize = 1500;
-
-        log.info("  -> Pushing {} Instructors...", instructorsToSave.size());
-        jdbcTemplate.batchUpdate("INSERT INTO instructor (id, name, email) VALUES (?, ?, ?)",
-                new ArrayList<>(instructorsToSave.values()), batchSize, (ps, inst) -> {
-                    ps.setString(1, inst.getId());
-                    ps.setString(2, inst.getName());
-                    ps.setString(3, inst.getEmail());
-                });
-
-        log.info("  -> Pushing {} Courses...", coursesToSave.size());
-        jdbcTemplate.batchUpdate("INSERT INTO course (id, code, number, title, credits, level) VALUES (?, ?, ?, ?, ?, ?)",
-                new ArrayList<>(coursesToSave.values()), batchSize, (ps, c) -> {
-                    ps.setString(1, c.getId());
-                    ps.setString(2, c.getCode());
-                    ps.setString(3, c.getNumber());
-                    ps.setString(4, c.getTitle());
-                    ps.setObject(5, c.getCredits());
-                    ps.setString(6, c.getLevel());
-                });
-
-        log.info("  -> Pushing {} Sections...", sectionsToSave.size());
-        jdbcTemplate.batchUpdate("INSERT INTO section (id, crn, term_id, course_id, instructor_id, code, branch, schedule_type, instruction_method, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
-                sectionsToSave, batchSize, (ps, s) -> {
-                    ps.setString(1, s.getId());
-                    ps.setObject(2, s.getCrn());
-                    ps.setString(3, s.getTerm().getId());
-                    ps.setString(4, s.getCourse().getId());
-                    ps.setString(5, s.getInstructor() != null ? s.getInstructor().getId() : null);
-                    ps.setString(6, s.getCode());
-                    ps.setString(7, s.getBranch());
-                    ps.setString(8, s.getScheduleType());
-                    ps.setString(9, s.getInstructionMethod());
-                    ps.setTimestamp(10, s.getCreatedAt() != null ? Timestamp.valueOf(s.getCreatedAt()) : null);
-                    ps.setTimestamp(11, s.getUpdatedAt() != null ? Timestamp.valueOf(s.getUpdatedAt()) : null);
+    /**
+     * Downloads the instructors payload. It is small next to the courses one, so it is kept in memory
+     * until the sections it refers to have been staged.
+     */
+    private List<InstructorData> fetchInstructors() {
+        log.info("[1/2] Streaming extended instructor details from API...");
+        long requested = System.nanoTime();
+        return customRestTemplate.execute(instructorsUrl, HttpMethod.GET, null,
+                response -> {
+                    long awaitingResponse = System.nanoTime() - requested;
+                    NetworkTimedInputStream body = new NetworkTimedInputStream(response.getBody());
+                    try {
+                        return streamInstructors(body);
+                    } finally {
+                        timings.record("fetch.instructors", 0, awaitingResponse + body.nanos());
+                    }
                 });
+    }
 
-        log.info("  -> Pushing {} Schedules...", schedulesToSave.size());
-
-        jdbcTemplate.batchUpdate("INSERT INTO schedule (id, type, start_time, end_time, raw_time, days, location, date_range, section_id, instructor_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
-                schedulesToSave, batchSize, (ps, sch) -> {
-                    ps.setString(1, sch.getId());
-                    ps.setString(2, sch.getType());
-                    ps.setObject(3, sch.getStartTime());
-                    ps.setObject(4, sch.getEndTime());
-                    ps.setString(5, sch.getRawTime());
-                    ps.setString(6, sch.getDays());
-                    ps.setString(7, sch.getLocation());
-                    ps.setString(8, sch.getDateRange());
-                    ps.setString(9, sch.getSection().getId());
-                    ps.setString(10, sch.getInstructor() != null ? sch.getInstructor().getId() : null);
-                });
+    private List<InstructorData> streamInstructors(NetworkTimedInputStream body) throws IOException {
+        List<InstructorData> instructors = new ArrayList<>();
 
-        log.info("[5/5] Phase 1 completed instantly via native network batching.");
-    }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
 
-    private void loadInstructors() throws Exception {
-        log.info("[1/2] Fetching extended instructor details from API...");
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
 
-        String rawJson = customRestTemplate.getForObject(instructorsUrl, String.class);
+                if (!"data".equals(field) || value != JsonToken.START_ARRAY) {
+                    if ("status".equals(field) && !"success".equals(parser.getValueAsString())) {
+                        log.warn("API returned unsuccessful status for instructors.");
+                        return null;
+                    }
+                    parser.skipChildren();
+                    continue;
+                }
 
-        if (rawJson == null || rawJson.isBlank()) {
-            log.warn("No valid instructor data received from API.");
-            return;
+                long parseStart = System.nanoTime();
+                long readBefore = body.nanos();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    instructors.add(objectMapper.readValue(parser, InstructorData.class));
+                }
+                timings.record("parse.instructors", instructors.size(),
+                        System.nanoTime() - parseStart - (body.nanos() - readBefore));
+            }
         }
 
-        InstructorsApiResponse response = objectMapper.readValue(rawJson, InstructorsApiResponse.class);
+        return instructors;
+    }
 
-        if (!"success".equals(response.getStatus()) || response.getData() == null) {
-            log.warn("API returned unsuccessful status or empty data.");
+    private void linkInstructors(List<InstructorData> instructors) throws Exception {
+        if (instructors == null) {
+            log.warn("No valid instructor data received from API.");
             return;
         }
 
-        log.info("[2/2] Downloaded {} updated instructor records. Executing targeted SQL updates...", response.getData().size());
-
-        List<Instructor> instructorsToUpdate = new ArrayList<>();
-        List<Section> sectionsToLink = new ArrayList<>();
-
-        for (InstructorData id : response.getData()) {
-            Instructor inst = new Instructor();
-            inst.setId(id.getId());
-            inst.setName(id.getName());
-            inst.setEmail(id.getEmail());
-            instructorsToUpdate.add(inst);
-
-            if (id.getSections() != null) {
+        timings.time("link.instructors", () -> {
+            List<Section> sectionsToLink = new ArrayList<>();
+            for (InstructorData id : instructors) {
+                if (id.getSections() == null) continue;
                 for (SectionRef sr : id.getSections()) {
+                    Instructor inst = new Instructor();
+                    inst.setId(id.getId());
                     Section sec = new Section();
                     sec.setId(sr.getId());
                     sec.setInstructor(inst);
                     sectionsToLink.add(sec);
                 }
             }
-        }
-
-        int batchSize = 1500;
 
-        jdbcTemplate.batchUpdate("UPDATE instructor SET name = ?, email = ? WHERE id = ?",
-                instructorsToUpdate, batchSize, (ps, inst) -> {
-                    ps.setString(1, inst.getName());
-                    ps.setString(2, inst.getEmail());
-                    ps.setString(3, inst.getId());
-                });
-
-        jdbcTemplate.batchUpdate("UPDATE section SET instructor_id = ? WHERE id = ?",
-                sectionsToLink, batchSize, (ps, sec) -> {
-                    ps.setString(1, sec.getInstructor().getId());
-                    ps.setString(2, sec.getId());
-                });
+            int batchSize = BulkWriter.BATCH_SIZE;
+
+            // Each statement touches a different staging table, so they run on separate connections
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<int[][]>> updates = List.of(
+                        executor.submit(() -> jdbcTemplate.batchUpdate("UPDATE stage_instructor SET name = ?, email = ?, search_name = ? WHERE id = ?",
+                                instructors, batchSize, (ps, inst) -> {
+                                    ps.setString(1, inst.getName());
+                                    ps.setString(2, inst.getEmail());
+                                    ps.setString(3, SearchText.normalize(inst.getName()));
+                                    ps.setString(4, inst.getId());
+                                })),
+                        executor.submit(() -> jdbcTemplate.batchUpdate("UPDATE stage_section SET instructor_id = ? WHERE id = ?",
+                                sectionsToLink, batchSize, (ps, sec) -> {
+                                    ps.setString(1, sec.getInstructor().getId());
+                                    ps.setString(2, sec.getId());
+                                })),
+                        executor.submit(() -> jdbcTemplate.batchUpdate("UPDATE stage_schedule SET instructor_id = ? WHERE section_id = ?",
+                                sectionsToLink, batchSize, (ps, sec) -> {
+                                    ps.setString(1, sec.getInstructor().getId());
+                                    ps.setString(2, sec.getId());
+                                }))
+                );
+                for (Future<int[][]> update : updates) {
+                    update.get();
+                }
+            }
+            return null;
+        });
 
-        jdbcTemplate.batchUpdate("UPDATE schedule SET instructor_id = ? WHERE section_id = ?",
-                sectionsToLink, batchSize, (ps, sec) -> {
-                    ps.setString(1, sec.getInstructor().getId());
-                    ps.setString(2, sec.getId());
-                });
+        log.info("[2/2] Done linking {} enhanced instructor records.", instructors.size());
+    }
 
-        log.info("Done linking enhanced instructor data.");
+    private record CourseStreamResult(String status, String termName, String termCode, int courses) {
     }
 
     // --- API DTOs Below Remain Unchanged ---
 
-    @Data
-    private static class CoursesApiResponse {
-        private String status;
-        private String termName;
-        private String termId;
-        private List<CourseData> data;
-    }
-
     @Data
     private static class CourseData {
         private String id;
@@ -340,14 +508,6 @@ public class DataLoader implements CommandLineRunner {
         private String dateRange;
     }
 
-    @Data
-    private static class InstructorsApiResponse {
-        private String status;
-        private String termName;
-        private String termId;
-        private List<InstructorData> data;
-    }
-
     @Data
     private static class InstructorData {
         private String id;
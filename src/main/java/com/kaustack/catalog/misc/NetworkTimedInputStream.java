@@ -0,0 +1,55 @@
+package com.kaustack.catalog.misc;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response body that adds up the time spent blocked in {@code read}, which is time spent waiting on the
+ * network rather than parsing. Lets a streamed download be timed apart from the parser consuming it.
+ */
+final class NetworkTimedInputStream extends FilterInputStream {
+
+    private long nanos;
+
+    NetworkTimedInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * Time spent in reads so far. Only meant to be called from the reading thread.
+     */
+    long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.read();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.read(b, off, len);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.skip(n);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.kaustack.catalog.misc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Builds and writes {@link CatalogBatch}es into the staging tables on virtual threads while the
+ * caller keeps parsing. At most {@link #MAX_IN_FLIGHT} batches are in progress, so memory stays
+ * bounded by the batch size rather than the size of the upstream catalog, and the number of
+ * pooled connections used by a sync stays bounded too.
+ * <p>
+ * Within a batch, parent tables (instructors, courses) are written in parallel on separate
+ * connections, then child tables (sections, schedules) the same way.
+ */
+@Slf4j
+class StagingWriter implements AutoCloseable {
+
+    private static final int MAX_IN_FLIGHT = 3;
+
+    private static final List<String> INSTRUCTOR_COLUMNS = List.of("id", "name", "email", "search_name");
+    private static final List<String> COURSE_COLUMNS = List.of("id", "code", "number", "title", "credits", "level",
+            "search_key", "search_title");
+    private static final List<String> SECTION_COLUMNS = List.of("id", "crn", "course_id", "instructor_id", "code", "branch",
+            "schedule_type", "instruction_method", "created_at", "updated_at", "sort_key");
+    private static final List<String> SCHEDULE_COLUMNS = List.of("id", "type", "start_time", "end_time", "raw_time",
+            "days", "location", "date_range", "section_id", "instructor_id", "day_mask");
+
+    private final BulkWriter bulkWriter;
+    private final SyncTimings timings;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    StagingWriter(BulkWriter bulkWriter, SyncTimings timings) {
+        this.bulkWriter = bulkWriter;
+        this.timings = timings;
+    }
+
+    /**
+     * Queues a batch to be built and written, blocking while {@link #MAX_IN_FLIGHT} batches are in progress.
+     */
+    void submit(Callable<CatalogBatch> builder) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            pending.add(executor.submit(() -> {
+                try {
+                    CatalogBatch batch = timings.time("build", builder);
+                    if (!batch.isEmpty()) write(batch);
+                    return null;
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for every queued batch and rethrows the first failure.
+     */
+    void await() throws Exception {
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        pending.clear();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void write(CatalogBatch batch) {
+        inParallel(
+                () -> bulkWriter.write("stage_instructor", INSTRUCTOR_COLUMNS, batch.instructors, inst -> new Object[]{
+                        inst.getId(), inst.getName(), inst.getEmail(), inst.getSearchName()
+                }),
+                () -> bulkWriter.write("stage_course", COURSE_COLUMNS, batch.courses, c -> new Object[]{
+                        c.getId(), c.getCode(), c.getNumber(), c.getTitle(), c.getCredits(), c.getLevel(),
+                        c.getSearchKey(), c.getSearchTitle()
+                })
+        );
+
+        inParallel(
+                // term_id is filled in once the whole payload has been read, see DataLoader#loadCourses
+                () -> bulkWriter.write("stage_section", SECTION_COLUMNS, batch.sections, s -> new Object[]{
+                        s.getId(), s.getCrn(), s.getCourse().getId(),
+                        s.getInstructor() != null ? s.getInstructor().getId() : null,
+                        s.getCode(), s.getBranch(), s.getScheduleType(), s.getInstructionMethod(),
+                        s.getCreatedAt() != null ? Timestamp.valueOf(s.getCreatedAt()) : null,
+                        s.getUpdatedAt() != null ? Timestamp.valueOf(s.getUpdatedAt()) : null,
+                        s.getSortKey()
+                }),
+                () -> bulkWriter.write("stage_schedule", SCHEDULE_COLUMNS, batch.schedules, sch -> new Object[]{
+                        sch.getId(), sch.getType(), sch.getStartTime(), sch.getEndTime(), sch.getRawTime(),
+                        sch.getDays(), sch.getLocation(), sch.getDateRange(), sch.getSection().getId(),
+                        sch.getInstructor() != null ? sch.getInstructor().getId() : null,
+                        sch.getDayMask()
+                })
+        );
+
+        log.info("  -> Staged {} instructors, {} courses, {} sections, {} schedules",
+                batch.instructors.size(), batch.courses.size(), batch.sections.size(), batch.schedules.size());
+    }
+
+    private void inParallel(Runnable first, Runnable second) {
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(first, executor),
+                CompletableFuture.runAsync(second, executor)
+        ).join();
+    }
+}
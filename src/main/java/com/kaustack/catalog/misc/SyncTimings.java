@@ -0,0 +1,80 @@
+package com.kaustack.catalog.misc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase timing breakdown of a catalog sync. Phases that run on several threads at once
+ * (building and inserting batches) are summed across threads, so they can exceed wall-clock time.
+ * <p>
+ * Every recording is also published as a {@code catalog.sync.phase} timer (and a {@code catalog.sync.rows}
+ * counter for inserts), tagged with the phase, so slow syncs show up in Prometheus and not only in the log.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyncTimings {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Phase> phases = new ConcurrentHashMap<>();
+
+    public void reset() {
+        phases.clear();
+    }
+
+    public <T> T time(String phase, Callable<T> work) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            record(phase, 0, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String phase, long rows, long nanos) {
+        phases.computeIfAbsent(phase, p -> new Phase()).add(rows, nanos);
+
+        Timer.builder("catalog.sync.phase")
+                .description("Time spent in each catalog sync phase")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (rows > 0) {
+            meterRegistry.counter("catalog.sync.rows", "phase", phase).increment(rows);
+        }
+    }
+
+    public void log() {
+        log.info("Sync phase breakdown:");
+        phases.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    long rows = e.getValue().rows.sum();
+                    long millis = e.getValue().nanos.sum() / 1_000_000;
+                    if (rows > 0) {
+                        log.info("  -> {}: {} ms ({} rows)", e.getKey(), millis, rows);
+                    } else {
+                        log.info("  -> {}: {} ms", e.getKey(), millis);
+                    }
+                });
+    }
+
+    private static final class Phase {
+        final LongAdder rows = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        void add(long count, long elapsed) {
+            rows.add(count);
+            nanos.add(elapsed);
+        }
+    }
+}
@@ -9,7 +9,9 @@ import java.util.List;
 @Data
 @Table(uniqueConstraints = {
         @UniqueConstraint(columnNames = {"code", "number"})
-})
+}, indexes = {
+        @Index(name = "idx_course_search_key", columnList = "search_key"),
+        @Index(name = "idx_course_search_title", columnList = "search_title")})
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -22,7 +24,22 @@ public class Course {
     private String level;
     private Integer credits;
 
+    // Normalized copies of the searchable fields, trigram-indexed on PostgreSQL (see SearchIndexInitializer)
+    private String searchKey;
+    private String searchTitle;
+
     @OneToMany(mappedBy = "course")
     @JsonIgnoreProperties("course")
     private List<Section> sections;
+
+    @PrePersist
+    @PreUpdate
+    public void computeSearchColumns() {
+        searchKey = searchKeyOf(code, number);
+        searchTitle = SearchText.normalize(title);
+    }
+
+    public static String searchKeyOf(String code, String number) {
+        return SearchText.compact(code + number);
+    }
 }
\ No newline at end of file
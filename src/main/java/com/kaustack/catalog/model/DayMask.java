@@ -0,0 +1,61 @@
+package com.kaustack.catalog.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes schedule day strings such as "UTR" as a 7-bit mask, one bit per day in "MTWRFSU" order.
+ */
+public final class DayMask {
+
+    public static final String DAY_ORDER = "MTWRFSU";
+    public static final int ALL_DAYS = (1 << DAY_ORDER.length()) - 1;
+
+    public enum Match {
+        ALL, ANY, EXACT;
+
+        public static Match from(String value) {
+            if (value == null || value.isEmpty()) return ALL;
+            return switch (value.toLowerCase()) {
+                case "any" -> ANY;
+                case "exact", "exactly" -> EXACT;
+                default -> ALL;
+            };
+        }
+    }
+
+    private DayMask() {
+    }
+
+    // Unknown characters are ignored, null or empty gives 0
+    public static int of(String days) {
+        if (days == null) return 0;
+
+        int mask = 0;
+        for (int i = 0; i < days.length(); i++) {
+            int bit = DAY_ORDER.indexOf(Character.toUpperCase(days.charAt(i)));
+            if (bit >= 0) mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    public static boolean matches(int mask, int wanted, Match match) {
+        return switch (match) {
+            case ALL -> (mask & wanted) == wanted;
+            case ANY -> (mask & wanted) != 0;
+            case EXACT -> mask == wanted;
+        };
+    }
+
+    /**
+     * Every stored mask value that satisfies the match. With only 128 possible values this turns a
+     * bitwise predicate into a plain IN list that a b-tree index on the mask column can serve.
+     */
+    public static List<Integer> matchingMasks(int wanted, Match match) {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 1; mask <= ALL_DAYS; mask++) {
+            if (matches(mask, wanted, match)) masks.add(mask);
+        }
+        return masks;
+    }
+}
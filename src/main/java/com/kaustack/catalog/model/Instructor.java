@@ -7,6 +7,7 @@ import java.util.List;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_instructor_search_name", columnList = "search_name"))
 public class Instructor {
     @Id
     private String id;
@@ -15,6 +16,9 @@ public class Instructor {
     private String name;
     private String email;
 
+    // Normalized name, trigram-indexed on PostgreSQL (see SearchIndexInitializer)
+    private String searchName;
+
     @OneToMany(mappedBy = "instructor")
     @JsonIgnoreProperties("instructor")
     private List<Section> sectionsTaught;
@@ -22,4 +26,10 @@ public class Instructor {
     @OneToMany(mappedBy = "instructor")
     @JsonIgnoreProperties("instructor")
     private List<Schedule> schedules;
+
+    @PrePersist
+    @PreUpdate
+    public void computeSearchColumns() {
+        searchName = SearchText.normalize(name);
+    }
 }
\ No newline at end of file
@@ -7,7 +7,8 @@ import lombok.Data;
 @Entity
 @Data
 @Table(indexes = {
-        @Index(name = "idx_schedule_section_id", columnList = "section_id")
+        @Index(name = "idx_schedule_section_id", columnList = "section_id"),
+        @Index(name = "idx_schedule_day_mask", columnList = "day_mask, section_id")
 })
 public class Schedule {
     @Id
@@ -24,6 +25,9 @@ public class Schedule {
 
     private String days;
 
+    // Bitmask of days, see DayMask
+    private Integer dayMask;
+
     private String location;
 
     private String dateRange;
@@ -37,4 +41,10 @@ public class Schedule {
     @JoinColumn(name = "instructor_id")
     @JsonIgnoreProperties("schedules")
     private Instructor instructor;
+
+    @PrePersist
+    @PreUpdate
+    private void computeDayMask() {
+        dayMask = DayMask.of(days);
+    }
 }
\ No newline at end of file
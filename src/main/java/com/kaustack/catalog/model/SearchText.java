@@ -0,0 +1,114 @@
+package com.kaustack.catalog.model;
+
+import java.util.Arrays;
+
+/**
+ * Text folding shared by every catalog search path, applied both to stored search columns and to queries.
+ * <p>
+ * One pass over the input, one table lookup per character, no regex and no intermediate strings. It
+ * lower-cases, folds alef variants to ا, ta marbuta to ه, ya to alef maqsura (ى), Persian kaf and ya to
+ * their Arabic forms and Arabic-Indic digits to ASCII, maps dash variants to '-', and drops tashkeel
+ * and tatweel.
+ */
+public final class SearchText {
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    // Characters are dropped when the table maps them to this
+    private static final char DROP = '\uffff';
+
+    // Covers Latin and the Arabic block, higher characters are only lower-cased
+    private static final char[] FOLD = new char[0x0700];
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            FOLD[c] = Character.toLowerCase(c);
+        }
+
+        for (char c : "أإآٱ".toCharArray()) FOLD[c] = 'ا';
+        FOLD['ة'] = 'ه';
+        FOLD['ي'] = 'ى';
+        FOLD['ی'] = 'ى';
+        FOLD['ک'] = 'ك';
+
+        for (int d = 0; d < 10; d++) {
+            FOLD[0x0660 + d] = (char) ('0' + d);
+            FOLD[0x06F0 + d] = (char) ('0' + d);
+        }
+
+        // Tashkeel, Quranic marks, superscript alef and tatweel (U+0640)
+        Arrays.fill(FOLD, 0x0610, 0x061B, DROP);
+        Arrays.fill(FOLD, 0x064B, 0x0660, DROP);
+        FOLD[0x0670] = DROP;
+        Arrays.fill(FOLD, 0x06D6, 0x06DD, DROP);
+        Arrays.fill(FOLD, 0x06DF, 0x06E9, DROP);
+        Arrays.fill(FOLD, 0x06EA, 0x06EE, DROP);
+        FOLD['\u0640'] = DROP;
+
+        // No-break space separates words like a space
+        FOLD['\u00a0'] = ' ';
+    }
+
+    private SearchText() {
+    }
+
+    public static String normalize(String input) {
+        if (input == null || input.isEmpty()) return "";
+
+        char[] out = new char[input.length()];
+        int length = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = fold(input.charAt(i));
+            if (c != DROP) out[length++] = c;
+        }
+        return new String(out, 0, length);
+    }
+
+    /**
+     * Normalized text with whitespace and hyphens removed, so "CPCS 203", "cpcs-203" and "CPCS203" compare equal.
+     */
+    public static String compact(String input) {
+        if (input == null || input.isEmpty()) return "";
+
+        char[] out = new char[input.length()];
+        int length = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = fold(input.charAt(i));
+            if (c != DROP && !isSeparator(c)) out[length++] = c;
+        }
+        return new String(out, 0, length);
+    }
+
+    /**
+     * Normalizes a user query and splits it on whitespace and hyphens.
+     */
+    public static String[] tokenize(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) return NO_TOKENS;
+
+        String[] tokens = new String[normalized.length() / 2 + 1];
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean separator = i == normalized.length() || isSeparator(normalized.charAt(i));
+            if (!separator && start < 0) {
+                start = i;
+            } else if (separator && start >= 0) {
+                tokens[count++] = normalized.substring(start, i);
+                start = -1;
+            }
+        }
+        return count == 0 ? NO_TOKENS : Arrays.copyOf(tokens, count);
+    }
+
+    private static char fold(char c) {
+        if (c < FOLD.length) return FOLD[c];
+        // Hyphen, non-breaking hyphen, figure dash, en/em dash, horizontal bar, minus sign
+        if ((c >= '\u2010' && c <= '\u2015') || c == '\u2212') return '-';
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '-' || Character.isWhitespace(c);
+    }
+}
@@ -5,11 +5,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Data
 @Table(indexes = {
-        @Index(name = "idx_term_course", columnList = "term_id, course_id")})
+        @Index(name = "idx_term_course", columnList = "term_id, course_id"),
+        @Index(name = "idx_section_term_sort_key", columnList = "term_id, sort_key, id")})
 public class Section {
     @Id
     private String id;
@@ -35,6 +37,9 @@ public class Section {
 
     private String instructionMethod;
 
+    // Denormalized "course code, course number, section code" used for keyset pagination, never null
+    private String sortKey;
+
     @OneToMany(mappedBy = "section", cascade = CascadeType.ALL)
     @JsonIgnoreProperties("section")
     private List<Schedule> schedules;
@@ -42,4 +47,16 @@ public class Section {
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    private void computeSortKey() {
+        sortKey = course != null ? sortKeyOf(course.getCode(), course.getNumber(), code) : sortKeyOf(null, null, code);
+    }
+
+    // Missing parts are left empty, so the key is never null
+    public static String sortKeyOf(String courseCode, String courseNumber, String sectionCode) {
+        return Objects.toString(courseCode, "") + " " + Objects.toString(courseNumber, "") + " "
+                + Objects.toString(sectionCode, "");
+    }
 }
\ No newline at end of file
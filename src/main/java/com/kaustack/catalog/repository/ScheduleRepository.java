@@ -13,8 +13,8 @@ import java.util.List;
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, String> {
 
-    @EntityGraph(attributePaths = {"section", "section.course", "instructor"})
-    List<Schedule> findByInstructorIdAndSectionTermId(String instructorId, String termId);
+    @EntityGraph(attributePaths = {"instructor"})
+    List<Schedule> findBySectionTermId(String termId);
 
     @Modifying
     @Query("DELETE FROM Schedule s WHERE s.section.id = :sectionId")
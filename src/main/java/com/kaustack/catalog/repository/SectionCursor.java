@@ -0,0 +1,37 @@
+package com.kaustack.catalog.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a section in the (sortKey, id) ordering, exchanged with clients as an opaque token.
+ */
+public record SectionCursor(String sortKey, String id) {
+
+    private static final char SEPARATOR = '\n';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a blank token (first page)
+     */
+    public static SectionCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+
+        int split = raw.lastIndexOf(SEPARATOR);
+        if (split <= 0 || split == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return new SectionCursor(raw.substring(0, split), raw.substring(split + 1));
+    }
+}
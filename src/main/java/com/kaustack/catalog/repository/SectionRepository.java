@@ -1,31 +1,56 @@
 package com.kaustack.catalog.repository;
 
+import com.kaustack.catalog.dto.SectionRow;
 import com.kaustack.catalog.model.Course;
-import com.kaustack.catalog.model.Instructor;
 import com.kaustack.catalog.model.Section;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SectionRepository extends JpaRepository<Section, String>, JpaSpecificationExecutor<Section> {
-    @EntityGraph(attributePaths = {"course", "instructor"})
-    List<Section> findByTermId(String termId);
+public interface SectionRepository extends JpaRepository<Section, String>, JpaSpecificationExecutor<Section>, SectionSearchRepository {
 
-    @Query("SELECT DISTINCT s.course FROM Section s WHERE s.term.id = :termId")
-    List<Course> findUniqueCoursesByTerm(@Param("termId") String termId);
+    String SECTION_ROWS = "SELECT new com.kaustack.catalog.dto.SectionRow(" +
+            "s.id, s.crn, s.code, s.branch, s.scheduleType, s.sortKey, " +
+            "c.id, c.title, c.code, c.number, c.credits, t.name, i.name, i.email, " +
+            "sch.id, sch.type, sch.days, sch.rawTime, sch.location, si.name) " +
+            "FROM Section s LEFT JOIN s.course c LEFT JOIN s.term t LEFT JOIN s.instructor i " +
+            "LEFT JOIN s.schedules sch LEFT JOIN sch.instructor si ";
 
-    @Query("SELECT DISTINCT s.instructor FROM Section s WHERE s.term.id = :termId")
-    List<Instructor> findUniqueInstructorsByTerm(@Param("termId") String termId);
+    @EntityGraph(attributePaths = {"course", "instructor"})
+    List<Section> findByTermId(String termId);
 
     @Query("SELECT DISTINCT s.course FROM Section s WHERE s.course.id = :courseId")
     Optional<Course> findCourseById(@Param("courseId") String courseId);
 
     List<Section> findByTermIdAndCourseId(String termId, String courseId);
+
+    // Flat rows for CatalogMapper#toDTOs, nothing is loaded into the persistence context
+    @Query(SECTION_ROWS + "WHERE s.id IN :ids")
+    List<SectionRow> findRowsByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query(SECTION_ROWS + "WHERE t.id = :termId AND c.id = :courseId ORDER BY s.code")
+    List<SectionRow> findRowsByTermIdAndCourseId(@Param("termId") String termId, @Param("courseId") String courseId);
+
+    @Query(SECTION_ROWS + "WHERE t.id = :termId AND c.id IN :courseIds ORDER BY s.code")
+    List<SectionRow> findRowsByTermIdAndCourseIdIn(@Param("termId") String termId, @Param("courseIds") Collection<String> courseIds);
+
+    @Query(SECTION_ROWS + "WHERE t.id = :termId AND s.crn IN :crns")
+    List<SectionRow> findRowsByTermIdAndCrnIn(@Param("termId") String termId, @Param("crns") Collection<Integer> crns);
+
+    // Forward-only cursor over a whole term, rows of one section are adjacent. Must be consumed in a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SECTION_ROWS + "WHERE t.id = :termId ORDER BY s.sortKey, s.id")
+    Stream<SectionRow> streamRowsByTermId(@Param("termId") String termId);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.kaustack.catalog.repository;
+
+import com.kaustack.catalog.model.Section;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface SectionSearchRepository {
+
+    // Pages over matching section ids only, the caller loads the page contents in one query
+    Page<String> findIds(Specification<Section> spec, Pageable pageable);
+
+    // Keyset pagination over (sortKey, id): up to limit positions strictly after the cursor, no count query
+    List<SectionCursor> findPositionsAfter(Specification<Section> spec, SectionCursor after, int limit);
+}
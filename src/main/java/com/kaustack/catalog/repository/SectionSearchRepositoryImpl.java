@@ -0,0 +1,84 @@
+package com.kaustack.catalog.repository;
+
+import com.kaustack.catalog.model.Section;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SectionSearchRepositoryImpl implements SectionSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<String> findIds(Specification<Section> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Section> root = query.from(Section.class);
+        query.select(root.get("id"));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<String> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<SectionCursor> findPositionsAfter(Specification<Section> spec, SectionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<SectionCursor> query = cb.createQuery(SectionCursor.class);
+        Root<Section> root = query.from(Section.class);
+        Path<String> sortKey = root.get("sortKey");
+        Path<String> id = root.get("id");
+        query.select(cb.construct(SectionCursor.class, sortKey, id));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) predicates.add(predicate);
+
+        if (after != null) {
+            // The redundant lower bound lets the planner range-scan idx_section_term_sort_key
+            predicates.add(cb.greaterThanOrEqualTo(sortKey, after.sortKey()));
+            predicates.add(cb.or(
+                    cb.greaterThan(sortKey, after.sortKey()),
+                    cb.and(cb.equal(sortKey, after.sortKey()), cb.greaterThan(id, after.id()))
+            ));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(sortKey), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<Section> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Section> root = query.from(Section.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
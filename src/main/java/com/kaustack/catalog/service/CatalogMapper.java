@@ -1,10 +1,15 @@
 package com.kaustack.catalog.service;
 
 import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.dto.SectionRow;
 import com.kaustack.catalog.model.Section;
 import com.kaustack.catalog.model.Schedule;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -17,11 +22,13 @@ public class CatalogMapper {
         dto.setSectionCode(section.getCode());
         dto.setBranch(section.getBranch());
         dto.setScheduleType(section.getScheduleType());
+        dto.setSortKey(section.getSortKey());
 
         if (section.getCourse() != null) {
             dto.setCourseTitle(section.getCourse().getTitle());
             dto.setCourseCode(section.getCourse().getCode());
             dto.setCourseNumber(section.getCourse().getNumber());
+            dto.setCredits(section.getCourse().getCredits());
         }
 
         if (section.getTerm() != null) {
@@ -44,6 +51,84 @@ public class CatalogMapper {
         return dto;
     }
 
+    /**
+     * Assembles DTOs from flat section/schedule rows, one DTO per section in first-seen order.
+     */
+    public Map<String, SectionDTO> toDTOs(Collection<SectionRow> rows) {
+        Map<String, SectionDTO> sections = new LinkedHashMap<>();
+        for (SectionRow row : rows) {
+            SectionDTO dto = sections.computeIfAbsent(row.id(), id -> toDTO(row));
+            if (row.scheduleId() != null) {
+                SectionDTO.ScheduleDTO schedule = new SectionDTO.ScheduleDTO();
+                schedule.setType(row.scheduleKind());
+                schedule.setDays(row.scheduleDays());
+                schedule.setTime(row.scheduleTime());
+                schedule.setRoom(row.scheduleRoom());
+                schedule.setInstructor(row.scheduleInstructor() != null ? row.scheduleInstructor() : "TBA");
+                dto.getSchedules().add(schedule);
+            }
+        }
+        return sections;
+    }
+
+    public SectionDTO toDTO(CatalogSnapshot.SectionEntry section, String termName) {
+        SectionDTO dto = new SectionDTO();
+        dto.setId(section.id());
+        dto.setCrn(section.crn());
+        dto.setSectionCode(section.code());
+        dto.setBranch(section.branch());
+        dto.setScheduleType(section.scheduleType());
+        dto.setTermName(termName);
+
+        if (section.course() != null) {
+            dto.setCourseTitle(section.course().title());
+            dto.setCourseCode(section.course().code());
+            dto.setCourseNumber(section.course().number());
+            dto.setCredits(section.course().credits());
+            dto.setSortKey(Section.sortKeyOf(section.course().code(), section.course().number(), section.code()));
+        }
+
+        if (section.instructor() != null) {
+            dto.setInstructorName(section.instructor().name());
+            dto.setInstructorEmail(section.instructor().email());
+        } else {
+            dto.setInstructorName("TBA");
+        }
+
+        dto.setSchedules(section.schedules().stream()
+                .map(schedule -> {
+                    SectionDTO.ScheduleDTO scheduleDTO = new SectionDTO.ScheduleDTO();
+                    scheduleDTO.setType(schedule.type());
+                    scheduleDTO.setDays(schedule.days());
+                    scheduleDTO.setTime(schedule.rawTime());
+                    scheduleDTO.setRoom(schedule.location());
+                    scheduleDTO.setInstructor(schedule.instructor() != null ? schedule.instructor().name() : "TBA");
+                    return scheduleDTO;
+                })
+                .collect(Collectors.toList()));
+
+        return dto;
+    }
+
+    private SectionDTO toDTO(SectionRow row) {
+        SectionDTO dto = new SectionDTO();
+        dto.setId(row.id());
+        dto.setCrn(row.crn());
+        dto.setSectionCode(row.code());
+        dto.setBranch(row.branch());
+        dto.setScheduleType(row.scheduleType());
+        dto.setCourseTitle(row.courseTitle());
+        dto.setCourseCode(row.courseCode());
+        dto.setCourseNumber(row.courseNumber());
+        dto.setCredits(row.courseCredits());
+        dto.setTermName(row.termName());
+        dto.setInstructorName(row.instructorName() != null ? row.instructorName() : "TBA");
+        dto.setInstructorEmail(row.instructorEmail());
+        dto.setSortKey(row.sortKey());
+        dto.setSchedules(new ArrayList<>());
+        return dto;
+    }
+
     private SectionDTO.ScheduleDTO toScheduleDTO(Schedule schedule) {
         SectionDTO.ScheduleDTO dto = new SectionDTO.ScheduleDTO();
         dto.setType(schedule.getType());
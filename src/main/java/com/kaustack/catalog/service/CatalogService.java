@@ -1,25 +1,37 @@
 package com.kaustack.catalog.service;
 
 import com.kaustack.catalog.dto.InstructorHierarchyDTO;
+import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.dto.SectionRow;
+import com.kaustack.catalog.model.DayMask;
 import com.kaustack.catalog.model.Schedule;
+import com.kaustack.catalog.model.SearchText;
 import com.kaustack.catalog.model.Section;
 import com.kaustack.catalog.model.Term;
 import com.kaustack.catalog.model.Course;
-import com.kaustack.catalog.model.Instructor;
-import com.kaustack.catalog.repository.ScheduleRepository;
+import com.kaustack.catalog.repository.SectionCursor;
 import com.kaustack.catalog.repository.SectionRepository;
-import com.kaustack.catalog.repository.TermRepository;
 import jakarta.persistence.criteria.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CatalogService {
@@ -28,124 +40,198 @@ public class CatalogService {
     private SectionRepository sectionRepository;
 
     @Autowired
-    private TermRepository termRepository;
+    private TermRegistry termRegistry;
 
     @Autowired
-    private ScheduleRepository scheduleRepository;
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private CatalogMapper mapper;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // Largest schedule filter result passed to the section query as an id list
+    @Value("${app.search.max-schedule-matches:1000}")
+    private int maxScheduleMatches;
 
     public List<Map<String, Object>> getCourses(String termCode, String q) {
         Term term = resolveTerm(termCode);
-        List<Course> courses = sectionRepository.findUniqueCoursesByTerm(term.getId());
+        return snapshotService.forTerm(term).searchCourses(q);
+    }
+
+    public List<SectionDTO> getSectionsByCourse(String termCode, String courseId, String gender) {
+        Term term = resolveTerm(termCode);
+        List<SectionRow> rows = sectionRepository.findRowsByTermIdAndCourseId(term.getId(), courseId);
+        return List.copyOf(mapper.toDTOs(filterByGender(rows, gender)).values());
+    }
+
+    /**
+     * Resolves many CRNs and course ids with at most one query each, however many are requested.
+     * Results are keyed by input in request order: unknown CRNs map to null, unknown courses to an empty list.
+     */
+    public Map<String, Object> getSectionsBatch(String termCode, List<Integer> crns, List<String> courseIds, String gender) {
+        Term term = resolveTerm(termCode);
 
-        String normalizedQ = normalizeSearchText(q);
+        Map<String, SectionDTO> byCrn = new LinkedHashMap<>();
+        if (crns != null && !crns.isEmpty()) {
+            Map<Integer, SectionDTO> found = new HashMap<>();
+            List<SectionRow> rows = sectionRepository.findRowsByTermIdAndCrnIn(term.getId(), new HashSet<>(crns));
+            mapper.toDTOs(filterByGender(rows, gender)).values().forEach(dto -> found.putIfAbsent(dto.getCrn(), dto));
+            for (Integer crn : crns) {
+                byCrn.put(String.valueOf(crn), found.get(crn));
+            }
+        }
 
-        String[] queryTokens = normalizedQ.isEmpty() ? new String[0] : normalizedQ.split("[\\s\\-]+");
+        Map<String, List<SectionDTO>> byCourse = new LinkedHashMap<>();
+        if (courseIds != null && !courseIds.isEmpty()) {
+            List<SectionRow> rows = filterByGender(
+                    sectionRepository.findRowsByTermIdAndCourseIdIn(term.getId(), new HashSet<>(courseIds)), gender);
 
-        return courses.stream()
-                .filter(c -> {
-                    if (queryTokens.length == 0) return true;
+            Map<String, String> courseOfSection = new HashMap<>();
+            rows.forEach(r -> courseOfSection.put(r.id(), r.courseId()));
 
-                    String searchableString = normalizeSearchText(
-                            c.getCode() + c.getNumber() + " " +
-                                    c.getCode() + " " +
-                                    c.getNumber() + " " +
-                                    c.getTitle()
-                    );
+            Map<String, List<SectionDTO>> found = new HashMap<>();
+            mapper.toDTOs(rows).values().forEach(dto ->
+                    found.computeIfAbsent(courseOfSection.get(dto.getId()), id -> new ArrayList<>()).add(dto));
+            for (String courseId : courseIds) {
+                byCourse.put(courseId, found.getOrDefault(courseId, List.of()));
+            }
+        }
 
-                    for (String token : queryTokens) {
-                        if (!searchableString.contains(token)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                })
-                .map(c -> {
-                    Map<String, Object> map = new LinkedHashMap<>();
-                    map.put("id", c.getId());
-                    map.put("code", c.getCode());
-                    map.put("number", c.getNumber());
-                    map.put("title", c.getTitle());
-                    map.put("fullCode", c.getCode() + "-" + c.getNumber());
-                    map.put("credits", c.getCredits());
-                    return map;
-                })
-                .sorted(Comparator.comparing(m -> (String) m.get("fullCode")))
-                .collect(Collectors.toList());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("crns", byCrn);
+        result.put("courses", byCourse);
+        return result;
     }
 
-    // Add this helper method down at the bottom of your class
-    private String normalizeSearchText(String input) {
-        if (input == null) return "";
-        return input.toLowerCase()
-                .replace("أ", "ا")
-                .replace("إ", "ا")
-                .replace("آ", "ا")
-                .replace("ة", "ه")
-                .replace("ي", "ى");
+    /**
+     * Writes every section of the term to {@code out} as one JSON object per line. Rows come from a
+     * forward-only cursor and each section is written as soon as its rows are read, so memory stays
+     * flat however large the term is. Returns the number of sections written.
+     */
+    @Transactional(readOnly = true)
+    public long exportSections(Term term, OutputStream out) throws IOException {
+        ObjectWriter writer = jsonMapper.writerFor(SectionDTO.class);
+        List<SectionRow> pending = new ArrayList<>();
+        long written = 0;
+
+        try (Stream<SectionRow> rows = sectionRepository.streamRowsByTermId(term.getId())) {
+            Iterator<SectionRow> it = rows.iterator();
+            while (it.hasNext()) {
+                SectionRow row = it.next();
+                if (!pending.isEmpty() && !pending.getFirst().id().equals(row.id())) {
+                    written += writeLines(writer, pending, out);
+                    pending.clear();
+                }
+                pending.add(row);
+            }
+        }
+        if (!pending.isEmpty()) written += writeLines(writer, pending, out);
+        return written;
     }
 
-    public List<Section> getSectionsByCourse(String termCode, String courseId, String gender) {
+    private int writeLines(ObjectWriter writer, List<SectionRow> rows, OutputStream out) throws IOException {
+        Collection<SectionDTO> dtos = mapper.toDTOs(rows).values();
+        for (SectionDTO dto : dtos) {
+            out.write(writer.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        return dtos.size();
+    }
+
+    public List<Map<String, Object>> getInstructors(String termCode, String q) {
         Term term = resolveTerm(termCode);
-        List<Section> sections = sectionRepository.findByTermIdAndCourseId(term.getId(), courseId);
+        return snapshotService.forTerm(term).searchInstructors(q);
+    }
 
-        if (gender == null || gender.isEmpty()) return sections;
+    public Page<SectionDTO> search(
+            String termCode, String q, int page, int limit, String days, DayMask.Match daysMatch,
+            String instructor, String startTime, String endTime,
+            String level, String crn, String sectionCode,
+            String gender, String branch
+    ) {
+        Term term = resolveTerm(termCode);
+        Specification<Section> spec = searchSpec(term, q, days, daysMatch, instructor, startTime, endTime, level, crn, sectionCode, gender, branch);
 
-        String mappedGender = mapGender(gender);
-        return sections.stream()
-                .filter(s -> {
-                    if (s.getBranch() == null) return false;
-                    assert mappedGender != null;
-                    return s.getBranch().contains(mappedGender);
-                })
-                .collect(Collectors.toList());
+        // 9. Pagination & Sorting
+        Pageable pageable = PageRequest.of(page - 1, limit,
+                Sort.by("course.code").ascending()
+                        .and(Sort.by("course.number").ascending())
+                        .and(Sort.by("code").ascending())
+        );
+
+        // Page over ids first, then hydrate the page so the mapper never triggers lazy loads
+        Page<String> ids = sectionRepository.findIds(spec, pageable);
+        if (ids.getContent().isEmpty()) return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+
+        Map<String, SectionDTO> sectionsById = loadSections(ids.getContent());
+        return ids.map(sectionsById::get);
     }
 
-    public List<Map<String, Object>> getInstructors(String termCode, String q) {
+    /**
+     * Cursor-mode variant of {@link #search}: returns up to {@code limit} sections after {@code cursor}
+     * in (sortKey, id) order. Per-page cost stays flat however deep the client scrolls, and no count is run.
+     */
+    public Slice<SectionDTO> searchAfter(
+            String termCode, String q, SectionCursor cursor, int limit, String days, DayMask.Match daysMatch,
+            String instructor, String startTime, String endTime,
+            String level, String crn, String sectionCode,
+            String gender, String branch
+    ) {
         Term term = resolveTerm(termCode);
-        List<Instructor> instructors = sectionRepository.findUniqueInstructorsByTerm(term.getId());
-
-        return instructors.stream()
-                .filter(i -> q == null || i.getName().toLowerCase().contains(q.toLowerCase()))
-                .map(i -> {
-                    Map<String, Object> map = new LinkedHashMap<>();
-                    map.put("id", i.getId());
-                    map.put("name", i.getName());
-                    map.put("email", i.getEmail());
-                    return map;
-                })
-                .sorted(Comparator.comparing(m -> (String) m.get("name")))
-                .collect(Collectors.toList());
+        Specification<Section> spec = searchSpec(term, q, days, daysMatch, instructor, startTime, endTime, level, crn, sectionCode, gender, branch);
+
+        // One extra row tells us whether another page exists
+        List<SectionCursor> positions = sectionRepository.findPositionsAfter(spec, cursor, limit + 1);
+        boolean hasNext = positions.size() > limit;
+        if (hasNext) positions = positions.subList(0, limit);
+
+        List<String> ids = positions.stream().map(SectionCursor::id).toList();
+        Map<String, SectionDTO> sectionsById = ids.isEmpty() ? Map.of() : loadSections(ids);
+
+        List<SectionDTO> content = ids.stream().map(sectionsById::get).toList();
+        return new SliceImpl<>(content, PageRequest.of(0, limit), hasNext);
     }
 
-    public Page<Section> search(
-            String termCode, String q, int page, int limit, String days,
+    // One projection query for the whole page, no entities are hydrated
+    private Map<String, SectionDTO> loadSections(List<String> ids) {
+        return mapper.toDTOs(sectionRepository.findRowsByIdIn(ids));
+    }
+
+    private Specification<Section> searchSpec(
+            Term term, String q, String days, DayMask.Match daysMatch,
             String instructor, String startTime, String endTime,
             String level, String crn, String sectionCode,
             String gender, String branch
     ) {
-        Term term = resolveTerm(termCode);
+        boolean scheduleFilter = (days != null && !days.isEmpty()) || startTime != null || endTime != null;
+        List<String> scheduleMatches = scheduleFilter
+                ? scheduleMatches(term, days, daysMatch, startTime, endTime)
+                : null;
 
-        Specification<Section> spec = (root, query, cb) -> {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // 1. Term Filter (Mandatory)
             predicates.add(cb.equal(root.get("term").get("id"), term.getId()));
 
-            // 2. Smart Search (q) - Normalized for Course Code + Number or Title
+            // 2. Smart Search (q) - Course Code + Number or Title, matched against the precomputed
+            // search columns as-is so their trigram indexes can serve the LIKE
             if (q != null && !q.trim().isEmpty()) {
-                String pattern = "%" + q.toLowerCase().replace("-", "").replace(" ", "") + "%";
-                // Concat code and number to match "CPCS203" or "CPCS 203"
-                Expression<String> fullCourseCode = cb.concat(root.get("course").get("code"), root.get("course").get("number"));
+                // "CPCS203", "CPCS 203" and "cpcs-203" all match the compact code
+                String codePattern = "%" + SearchText.compact(q) + "%";
+                String titlePattern = "%" + SearchText.normalize(q).trim() + "%";
 
                 predicates.add(cb.or(
-                        cb.like(cb.lower(fullCourseCode), pattern),
-                        cb.like(cb.lower(root.get("course").get("title")), pattern)
+                        cb.like(root.get("course").get("searchKey"), codePattern),
+                        cb.like(root.get("course").get("searchTitle"), titlePattern)
                 ));
             }
 
             // 3. Instructor Filter
             if (instructor != null && !instructor.isEmpty()) {
-                predicates.add(cb.like(cb.lower(root.get("instructor").get("name")), "%" + instructor.toLowerCase() + "%"));
+                predicates.add(cb.like(root.get("instructor").get("searchName"), "%" + SearchText.normalize(instructor) + "%"));
             }
 
             // 4. CRN Filter
@@ -177,8 +263,11 @@ public class CatalogService {
                 predicates.add(cb.like(cb.lower(root.get("branch")), "%" + branch.toLowerCase() + "%"));
             }
 
-            // 8. Days and Time Filters (Requiring Subquery to Schedule Table)
-            if ((days != null && !days.isEmpty()) || startTime != null || endTime != null) {
+            // 8. Days and Time Filters, resolved against the term snapshot's schedule columns when selective
+            if (scheduleMatches != null) {
+                predicates.add(scheduleMatches.isEmpty() ? cb.disjunction() : root.get("id").in(scheduleMatches));
+            } else if (scheduleFilter) {
+                // Too many matches for an id list: fall back to a Subquery on the Schedule Table
                 // We use a Subquery to avoid duplicate Sections in the result set when multiple schedules match
                 Subquery<Integer> scheduleSubquery = query.subquery(Integer.class);
                 Root<Schedule> scheduleRoot = scheduleSubquery.from(Schedule.class);
@@ -187,11 +276,13 @@ public class CatalogService {
                 List<Predicate> subPredicates = new ArrayList<>();
                 subPredicates.add(cb.equal(scheduleRoot.get("section"), root));
 
-                // Days Match (e.g., searching "MW" matches schedules containing "M" and "W")
+                // Days Match (e.g., "MW" with ALL matches schedules on at least Monday and Wednesday)
                 if (days != null && !days.isEmpty()) {
-                    String sortedDays = sortDays(days.toUpperCase());
-                    for (char day : sortedDays.toCharArray()) {
-                        subPredicates.add(cb.like(scheduleRoot.get("days"), "%" + day + "%"));
+                    int wanted = DayMask.of(days);
+                    if (wanted == 0) {
+                        subPredicates.add(cb.disjunction());
+                    } else {
+                        subPredicates.add(scheduleRoot.get("dayMask").in(DayMask.matchingMasks(wanted, daysMatch)));
                     }
                 }
 
@@ -215,60 +306,32 @@ public class CatalogService {
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        // 9. Pagination & Sorting
-        Pageable pageable = PageRequest.of(page - 1, limit,
-                Sort.by("course.code").ascending()
-                        .and(Sort.by("course.number").ascending())
-                        .and(Sort.by("code").ascending())
-        );
-
-        return sectionRepository.findAll(spec, pageable);
+    /**
+     * Section ids passing the day/time filters, computed in memory from the snapshot's schedule columns.
+     * Returns null when more than {@code app.search.max-schedule-matches} sections match; such an unselective
+     * filter is left to the schedule subquery rather than shipped as a huge IN list.
+     */
+    private List<String> scheduleMatches(Term term, String days, DayMask.Match daysMatch, String startTime, String endTime) {
+        Integer wantedDays = days != null && !days.isEmpty() ? DayMask.of(days) : null;
+        Integer startMin = startTime != null ? parseTimeBytes(startTime) : null;
+        Integer endMin = endTime != null ? parseTimeBytes(endTime) : null;
+
+        List<String> ids = snapshotService.forTerm(term).sectionIdsBySchedule(wantedDays, daysMatch, startMin, endMin);
+        return ids.size() <= maxScheduleMatches ? ids : null;
     }
 
     public Map<String, List<String>> getGroupedSections(String termCode, String courseQuery, String sectionCode, String gender) {
         Term term = resolveTerm(termCode);
-        List<Section> sections = sectionRepository.findByTermId(term.getId());
-
-        final String normalizedQ = (courseQuery == null) ? "" : courseQuery.replace("-", "").replace(" ", "").toLowerCase();
-
-        return sections.stream()
-                .filter(s -> {
-                    if (!normalizedQ.isEmpty()) {
-                        String target = (s.getCourse().getCode() + s.getCourse().getNumber()).toLowerCase();
-                        if (!target.contains(normalizedQ)) return false;
-                    }
-                    if (sectionCode != null && !s.getCode().contains(sectionCode)) return false;
-                    if (gender != null) {
-                        String mapped = mapGender(gender);
-                        return s.getBranch() != null && s.getBranch().contains(Objects.requireNonNull(mapped));
-                    }
-                    return true;
-                })
-                .collect(Collectors.groupingBy(
-                        s -> s.getCourse().getCode() + "-" + s.getCourse().getNumber(),
-                        TreeMap::new,
-                        Collectors.mapping(Section::getCode, Collectors.toList())
-                ));
+        String mappedGender = gender != null ? mapGender(gender) : null;
+        return snapshotService.forTerm(term).groupSections(courseQuery, sectionCode, mappedGender);
     }
 
     // Not used for now
     public List<InstructorHierarchyDTO> getInstructorHierarchy(String termCode) {
         Term term = resolveTerm(termCode);
-        List<Section> sections = sectionRepository.findByTermId(term.getId());
-
-        return sections.stream()
-                .filter(s -> s.getInstructor() != null)
-                .collect(Collectors.groupingBy(s -> s.getInstructor().getName()))
-                .entrySet().stream()
-                .map(entry -> {
-                    InstructorHierarchyDTO dto = new InstructorHierarchyDTO();
-                    dto.setName(entry.getKey());
-                    dto.setEmail(entry.getValue().getFirst().getInstructor().getEmail());
-                    return dto;
-                })
-                .sorted(Comparator.comparing(InstructorHierarchyDTO::getName))
-                .collect(Collectors.toList());
+        return snapshotService.forTerm(term).getInstructorHierarchy();
     }
 
     public Course getCourseById(String courseId) {
@@ -276,69 +339,42 @@ public class CatalogService {
                 .orElseThrow(() -> new IllegalArgumentException("Course not found with ID: " + courseId));
     }
 
+    // Precomputed with the term snapshot, nothing is queried per request
     public Map<String, Object> getInstructorDetails(String instructorId, String termCode) {
         Term term = resolveTerm(termCode);
+        return snapshotService.forTerm(term).findInstructorTimetable(instructorId)
+                .orElseThrow(() -> new IllegalArgumentException("No teaching schedule found for this instructor."));
+    }
 
-        // Fetch schedules instead of sections
-        List<Schedule> schedules = scheduleRepository.findByInstructorIdAndSectionTermId(instructorId, term.getId());
-
-        if (schedules.isEmpty()) {
-            throw new IllegalArgumentException("No teaching schedule found for this instructor.");
-        }
-
-        Instructor instructor = schedules.getFirst().getInstructor();
-
-        // Grouping by Course Code
-        Map<String, List<Map<String, Object>>> teachingMap = schedules.stream()
-                .collect(Collectors.groupingBy(
-                        sch -> sch.getSection().getCourse().getCode() + "-" + sch.getSection().getCourse().getNumber(),
-                        Collectors.mapping(sch -> {
-                            Map<String, Object> details = new HashMap<>();
-                            details.put("sectionCode", sch.getSection().getCode());
-                            details.put("crn", sch.getSection().getCrn());
-                            details.put("days", sch.getDays());
-                            details.put("time", sch.getRawTime());
-                            details.put("location", sch.getLocation());
-                            return details;
-                        }, Collectors.toList())
-                ));
-
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("instructorName", instructor.getName());
-        result.put("email", instructor.getEmail());
-        result.put("term", term.getTermCode());
-        result.put("schedule", teachingMap);
-
-        return result;
+    public Term getTerm(String termCode) {
+        return resolveTerm(termCode);
     }
 
     // --- Helpers ---
 
     private Term resolveTerm(String termCode) {
-        if (termCode != null && !termCode.isEmpty()) {
-            return termRepository.findByTermCode(termCode)
-                    .orElseThrow(() -> new IllegalArgumentException("Term not found: " + termCode));
-        }
-        return termRepository.findTopByOrderByUpdatedAtDesc()
-                .orElseThrow(() -> new IllegalArgumentException("No terms found in database"));
+        return termRegistry.resolve(termCode);
+    }
+
+    private List<SectionRow> filterByGender(List<SectionRow> rows, String gender) {
+        if (gender == null || gender.isEmpty()) return rows;
+
+        String mappedGender = mapGender(gender);
+        if (mappedGender == null) return rows;
+        return rows.stream()
+                .filter(r -> r.branch() != null && r.branch().contains(mappedGender))
+                .collect(Collectors.toList());
     }
 
-    private String mapGender(String input) {
+    static String mapGender(String input) {
         if ("male".equalsIgnoreCase(input)) return "طلاب";
         if ("female".equalsIgnoreCase(input)) return "طالبات";
         return null;
     }
 
-    private Integer parseTimeBytes(String timeStr) {
+    static Integer parseTimeBytes(String timeStr) {
         if (timeStr == null || !timeStr.matches("\\d{1,2}:\\d{2}")) return null;
         String[] parts = timeStr.split(":");
         return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
     }
-
-    private String sortDays(String input) {
-        String dayOrder = "MTWRFSU";
-        return Arrays.stream(input.split(""))
-                .sorted(Comparator.comparingInt(dayOrder::indexOf))
-                .collect(Collectors.joining());
-    }
 }
\ No newline at end of file
@@ -0,0 +1,273 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.InstructorHierarchyDTO;
+import com.kaustack.catalog.model.Course;
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.model.Instructor;
+import com.kaustack.catalog.model.Schedule;
+import com.kaustack.catalog.model.SearchText;
+import com.kaustack.catalog.model.Section;
+import com.kaustack.catalog.model.Term;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable, read-only view of a single term's catalog.
+ * Built once per sync by {@link CatalogSnapshotService} and shared by all request threads.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<String> NULLS_LAST = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final String termId;
+    private final String termCode;
+    private final String termName;
+    private final LocalDateTime updatedAt;
+
+    // Courses sorted by fullCode, the index refers to them by position in this list
+    private final List<Map<String, Object>> courseViews;
+    private final CourseSearchIndex courseIndex;
+
+    // Distinct section instructors sorted by name
+    private final List<Map<String, Object>> instructorViews;
+    // Folded names parallel to instructorViews, see SearchText
+    private final String[] instructorSearchNames;
+    private final InstructorTimetables instructorTimetables;
+
+    // Sorted by course fullCode, then section code
+    private final List<SectionEntry> sections;
+    // Section ordinals are positions in sections
+    private final ScheduleColumns scheduleColumns;
+
+    private final Map<String, CourseEntry> coursesById;
+    private final Map<String, List<SectionEntry>> sectionsByCourse;
+
+    private CatalogSnapshot(Term term, List<Section> sectionEntities, List<Schedule> scheduleEntities) {
+        this.termId = term.getId();
+        this.termCode = term.getTermCode();
+        this.termName = term.getName();
+        this.updatedAt = term.getUpdatedAt();
+
+        Map<String, CourseEntry> courseMap = new HashMap<>();
+        Map<String, InstructorEntry> instructorMap = new HashMap<>();
+        Map<String, InstructorEntry> sectionInstructors = new HashMap<>();
+
+        for (Section s : sectionEntities) {
+            Course c = s.getCourse();
+            if (c != null) courseMap.computeIfAbsent(c.getId(), id -> CourseEntry.of(c));
+            InstructorEntry inst = instructorEntry(s.getInstructor(), instructorMap);
+            if (inst != null) sectionInstructors.putIfAbsent(inst.id(), inst);
+        }
+
+        Map<String, List<ScheduleEntry>> schedulesBySection = new HashMap<>();
+        for (Schedule sch : scheduleEntities) {
+            schedulesBySection.computeIfAbsent(sch.getSection().getId(), id -> new ArrayList<>())
+                    .add(ScheduleEntry.of(sch, instructorEntry(sch.getInstructor(), instructorMap)));
+        }
+
+        List<SectionEntry> sectionList = new ArrayList<>(sectionEntities.size());
+        for (Section s : sectionEntities) {
+            sectionList.add(new SectionEntry(
+                    s.getId(), s.getCrn(), s.getCode(), s.getBranch(),
+                    s.getScheduleType(), s.getInstructionMethod(),
+                    s.getCourse() != null ? courseMap.get(s.getCourse().getId()) : null,
+                    s.getInstructor() != null ? instructorMap.get(s.getInstructor().getId()) : null,
+                    List.copyOf(schedulesBySection.getOrDefault(s.getId(), List.of()))
+            ));
+        }
+        sectionList.sort(Comparator
+                .comparing((SectionEntry s) -> s.course() != null ? s.course().fullCode() : null, NULLS_LAST)
+                .thenComparing(SectionEntry::code, NULLS_LAST));
+
+        List<CourseEntry> courses = courseMap.values().stream()
+                .sorted(Comparator.comparing(CourseEntry::fullCode))
+                .toList();
+        this.courseViews = courses.stream().map(CourseEntry::toView).toList();
+        this.courseIndex = CourseSearchIndex.build(courses);
+
+        List<InstructorEntry> instructors = sectionInstructors.values().stream()
+                .sorted(Comparator.comparing(InstructorEntry::name, NULLS_LAST))
+                .toList();
+        this.instructorViews = instructors.stream().map(InstructorEntry::toView).toList();
+        this.instructorSearchNames = instructors.stream().map(i -> SearchText.normalize(i.name())).toArray(String[]::new);
+
+        this.sections = List.copyOf(sectionList);
+        this.scheduleColumns = ScheduleColumns.build(sections);
+        this.instructorTimetables = InstructorTimetables.build(sections, termCode);
+
+        this.coursesById = Map.copyOf(courseMap);
+
+        Map<String, List<SectionEntry>> byCourse = new HashMap<>();
+        for (SectionEntry s : sections) {
+            if (s.course() != null) byCourse.computeIfAbsent(s.course().id(), id -> new ArrayList<>()).add(s);
+        }
+        byCourse.replaceAll((id, list) -> List.copyOf(list));
+        this.sectionsByCourse = Map.copyOf(byCourse);
+    }
+
+    public static CatalogSnapshot of(Term term, List<Section> sections, List<Schedule> schedules) {
+        return new CatalogSnapshot(term, sections, schedules);
+    }
+
+    private static InstructorEntry instructorEntry(Instructor instructor, Map<String, InstructorEntry> cache) {
+        if (instructor == null) return null;
+        return cache.computeIfAbsent(instructor.getId(),
+                id -> new InstructorEntry(id, instructor.getName(), instructor.getEmail()));
+    }
+
+    // --- Queries ---
+
+    public List<Map<String, Object>> searchCourses(String q) {
+        String[] queryTokens = SearchText.tokenize(q);
+        if (queryTokens.length == 0) return courseViews;
+
+        int[] ordinals = courseIndex.search(queryTokens);
+        if (ordinals == null) return courseViews;
+
+        List<Map<String, Object>> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            result.add(courseViews.get(ordinal));
+        }
+        return result;
+    }
+
+    public List<Map<String, Object>> searchInstructors(String q) {
+        String normalizedQ = SearchText.normalize(q);
+        if (normalizedQ.isEmpty()) return instructorViews;
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = 0; i < instructorSearchNames.length; i++) {
+            if (instructorSearchNames[i].contains(normalizedQ)) {
+                result.add(instructorViews.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Groups section codes by "CODE-NUMBER".
+     *
+     * @param branchFilter already mapped branch fragment (e.g. "طلاب"), or null for no branch filter
+     */
+    public Map<String, List<String>> groupSections(String courseQuery, String sectionCode, String branchFilter) {
+        final String normalizedQ = SearchText.compact(courseQuery);
+
+        Map<String, List<String>> grouped = new TreeMap<>();
+        for (SectionEntry s : sections) {
+            if (s.course() == null) continue;
+            if (!normalizedQ.isEmpty() && !s.course().compactCode().contains(normalizedQ)) continue;
+            if (sectionCode != null && (s.code() == null || !s.code().contains(sectionCode))) continue;
+            if (branchFilter != null && (s.branch() == null || !s.branch().contains(branchFilter))) continue;
+
+            grouped.computeIfAbsent(s.course().fullCode(), k -> new ArrayList<>()).add(s.code());
+        }
+        return grouped;
+    }
+
+    /**
+     * Ids of sections with a schedule matching the day and time filters, see {@link ScheduleColumns#matching}.
+     */
+    public List<String> sectionIdsBySchedule(Integer wantedDays, DayMask.Match match, Integer minStart, Integer maxEnd) {
+        BitSet ordinals = scheduleColumns.matching(wantedDays, match, minStart, maxEnd);
+
+        List<String> ids = new ArrayList<>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            ids.add(sections.get(i).id());
+        }
+        return ids;
+    }
+
+    /**
+     * The instructor's timetable for this term, see {@link InstructorTimetables}. Empty when they teach no session.
+     */
+    public Optional<Map<String, Object>> findInstructorTimetable(String instructorId) {
+        return instructorTimetables.find(instructorId);
+    }
+
+    public List<InstructorHierarchyDTO> getInstructorHierarchy() {
+        return instructorTimetables.hierarchy();
+    }
+
+    // --- Accessors ---
+
+    public String getTermId() {
+        return termId;
+    }
+
+    public String getTermCode() {
+        return termCode;
+    }
+
+    public String getTermName() {
+        return termName;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Optional<CourseEntry> findCourse(String courseId) {
+        return Optional.ofNullable(coursesById.get(courseId));
+    }
+
+    // Sorted by section code, empty for unknown courses
+    public List<SectionEntry> sectionsOfCourse(String courseId) {
+        return sectionsByCourse.getOrDefault(courseId, List.of());
+    }
+
+    // --- Entries ---
+
+    public record CourseEntry(String id, String code, String number, String title,
+                              String level, Integer credits, String fullCode, String compactCode) {
+
+        static CourseEntry of(Course c) {
+            return new CourseEntry(
+                    c.getId(), c.getCode(), c.getNumber(), c.getTitle(),
+                    c.getLevel(), c.getCredits(),
+                    c.getCode() + "-" + c.getNumber(),
+                    Course.searchKeyOf(c.getCode(), c.getNumber())
+            );
+        }
+
+        Map<String, Object> toView() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("code", code);
+            map.put("number", number);
+            map.put("title", title);
+            map.put("fullCode", fullCode);
+            map.put("credits", credits);
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+    public record InstructorEntry(String id, String name, String email) {
+
+        Map<String, Object> toView() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("name", name);
+            map.put("email", email);
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+    public record SectionEntry(String id, Integer crn, String code, String branch,
+                               String scheduleType, String instructionMethod,
+                               CourseEntry course, InstructorEntry instructor,
+                               List<ScheduleEntry> schedules) {
+    }
+
+    public record ScheduleEntry(String type, Integer startTime, Integer endTime, String rawTime,
+                                String days, String location, String dateRange,
+                                InstructorEntry instructor) {
+
+        static ScheduleEntry of(Schedule s, InstructorEntry instructor) {
+            return new ScheduleEntry(
+                    s.getType(), s.getStartTime(), s.getEndTime(), s.getRawTime(),
+                    s.getDays(), s.getLocation(), s.getDateRange(), instructor
+            );
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.misc.CatalogSyncedEvent;
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.repository.ScheduleRepository;
+import com.kaustack.catalog.repository.SectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds one {@link CatalogSnapshot} per term. Snapshots are rebuilt after every sync and
+ * swapped in as a whole, so readers never observe a half-built catalog.
+ * <p>
+ * Rebuilds follow {@link CatalogSyncedEvent}, which {@link TermRegistry} also raises when it notices
+ * a sync that ran on another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotService {
+
+    private final TermRegistry termRegistry;
+    private final SectionRepository sectionRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    private volatile Map<String, CatalogSnapshot> snapshots = Map.of();
+
+    public CatalogSnapshot forTerm(Term term) {
+        CatalogSnapshot snapshot = snapshots.get(term.getId());
+        if (isCurrent(snapshot, term)) return snapshot;
+
+        synchronized (this) {
+            snapshot = snapshots.get(term.getId());
+            if (isCurrent(snapshot, term)) return snapshot;
+
+            snapshot = build(term);
+            Map<String, CatalogSnapshot> next = new HashMap<>(snapshots);
+            next.put(term.getId(), snapshot);
+            snapshots = Map.copyOf(next);
+            return snapshot;
+        }
+    }
+
+    // Runs after TermRegistry has reloaded the terms
+    @EventListener
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        long startTime = System.currentTimeMillis();
+
+        Map<String, CatalogSnapshot> next = new HashMap<>();
+        for (Term term : termRegistry.all()) {
+            next.put(term.getId(), build(term));
+        }
+        snapshots = Map.copyOf(next);
+
+        log.info("Rebuilt {} catalog snapshot(s) in {} ms", next.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private CatalogSnapshot build(Term term) {
+        return CatalogSnapshot.of(
+                term,
+                sectionRepository.findByTermId(term.getId()),
+                scheduleRepository.findBySectionTermId(term.getId())
+        );
+    }
+
+    private boolean isCurrent(CatalogSnapshot snapshot, Term term) {
+        return snapshot != null && Objects.equals(snapshot.getUpdatedAt(), term.getUpdatedAt());
+    }
+}
@@ -0,0 +1,133 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.SearchText;
+import com.kaustack.catalog.service.CatalogSnapshot.CourseEntry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted n-gram index over a term's courses, keyed by course ordinal in the snapshot.
+ * <p>
+ * Every 1, 2 and 3 character gram of the normalized "code+number code number title" string
+ * gets a sorted posting list. A query token of up to three characters is answered straight
+ * from its posting list; longer tokens intersect the lists of their trigrams and then confirm
+ * the candidates against the precomputed searchable string.
+ */
+final class CourseSearchIndex {
+
+    private static final int MAX_GRAM = 3;
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] searchable;
+    private final Map<String, int[]> postings;
+
+    private CourseSearchIndex(String[] searchable, Map<String, int[]> postings) {
+        this.searchable = searchable;
+        this.postings = postings;
+    }
+
+    static CourseSearchIndex build(List<CourseEntry> courses) {
+        String[] searchable = new String[courses.size()];
+        Map<String, IntList> builders = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < courses.size(); ordinal++) {
+            CourseEntry c = courses.get(ordinal);
+            String text = SearchText.normalize(
+                    c.code() + c.number() + " " +
+                            c.code() + " " +
+                            c.number() + " " +
+                            c.title()
+            );
+            searchable[ordinal] = text;
+
+            for (int n = 1; n <= MAX_GRAM; n++) {
+                for (int i = 0; i + n <= text.length(); i++) {
+                    String gram = text.substring(i, i + n);
+                    if (containsSeparator(gram)) continue;
+                    builders.computeIfAbsent(gram, g -> new IntList()).addOnce(ordinal);
+                }
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(builders.size() * 2);
+        builders.forEach((gram, list) -> postings.put(gram, list.toArray()));
+        return new CourseSearchIndex(searchable, postings);
+    }
+
+    /**
+     * Returns the ordinals of courses whose searchable text contains every token, in ascending order.
+     */
+    int[] search(String[] tokens) {
+        int[] result = null;
+        for (String token : tokens) {
+            if (token.isEmpty()) continue;
+
+            int[] matches = match(token);
+            result = (result == null) ? matches : intersect(result, matches);
+            if (result.length == 0) return EMPTY;
+        }
+        return result;
+    }
+
+    private int[] match(String token) {
+        if (token.length() <= MAX_GRAM) {
+            return postings.getOrDefault(token, EMPTY);
+        }
+
+        int[] candidates = null;
+        for (int i = 0; i + MAX_GRAM <= token.length(); i++) {
+            int[] list = postings.get(token.substring(i, i + MAX_GRAM));
+            if (list == null) return EMPTY;
+            candidates = (candidates == null) ? list : intersect(candidates, list);
+            if (candidates.length == 0) return EMPTY;
+        }
+
+        int[] verified = new int[candidates.length];
+        int count = 0;
+        for (int ordinal : candidates) {
+            if (searchable[ordinal].contains(token)) verified[count++] = ordinal;
+        }
+        return Arrays.copyOf(verified, count);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return k == out.length ? out : Arrays.copyOf(out, k);
+    }
+
+    private static boolean containsSeparator(String gram) {
+        for (int i = 0; i < gram.length(); i++) {
+            char ch = gram.charAt(i);
+            if (Character.isWhitespace(ch) || ch == '-') return true;
+        }
+        return false;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) return;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.InstructorHierarchyDTO;
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.service.CatalogSnapshot.InstructorEntry;
+import com.kaustack.catalog.service.CatalogSnapshot.ScheduleEntry;
+import com.kaustack.catalog.service.CatalogSnapshot.SectionEntry;
+
+import java.util.*;
+
+/**
+ * Instructor pages of one term, built once with the snapshot and served as-is.
+ * <p>
+ * Timetables follow the schedule-level instructor, like the old per-request query did: every session
+ * an instructor teaches, grouped by course in snapshot order, plus the weekly teaching minutes. The
+ * hierarchy follows the section-level instructor. Everything here is shared between requests and
+ * must not be modified.
+ */
+final class InstructorTimetables {
+
+    private static final Comparator<String> NULLS_LAST = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final Map<String, Map<String, Object>> timetables;
+    private final List<InstructorHierarchyDTO> hierarchy;
+
+    private InstructorTimetables(Map<String, Map<String, Object>> timetables, List<InstructorHierarchyDTO> hierarchy) {
+        this.timetables = timetables;
+        this.hierarchy = hierarchy;
+    }
+
+    // Sections must be in snapshot order, so courses and sessions come out sorted
+    static InstructorTimetables build(List<SectionEntry> sections, String termCode) {
+        Map<String, TimetableBuilder> timetables = new HashMap<>();
+        Map<String, HierarchyBuilder> hierarchy = new HashMap<>();
+
+        for (SectionEntry section : sections) {
+            if (section.course() == null) continue;
+            String courseLabel = section.course().fullCode();
+
+            for (ScheduleEntry schedule : section.schedules()) {
+                if (schedule.instructor() == null) continue;
+                timetables.computeIfAbsent(schedule.instructor().id(), id -> new TimetableBuilder(schedule.instructor()))
+                        .add(courseLabel, section, schedule);
+            }
+
+            InstructorEntry instructor = section.instructor();
+            if (instructor != null) {
+                hierarchy.computeIfAbsent(instructor.name(), name -> new HierarchyBuilder(name, instructor.email()))
+                        .add(courseLabel, section);
+            }
+        }
+
+        Map<String, Map<String, Object>> views = new HashMap<>();
+        timetables.forEach((id, builder) -> views.put(id, builder.toView(termCode)));
+
+        return new InstructorTimetables(
+                Map.copyOf(views),
+                hierarchy.values().stream()
+                        .map(HierarchyBuilder::toDto)
+                        .sorted(Comparator.comparing(InstructorHierarchyDTO::name, NULLS_LAST))
+                        .toList()
+        );
+    }
+
+    Optional<Map<String, Object>> find(String instructorId) {
+        return Optional.ofNullable(timetables.get(instructorId));
+    }
+
+    List<InstructorHierarchyDTO> hierarchy() {
+        return hierarchy;
+    }
+
+    private static final class HierarchyBuilder {
+
+        private final String name;
+        private final String email;
+        private final Map<String, String> titles = new LinkedHashMap<>();
+        private final Map<String, List<String>> sections = new LinkedHashMap<>();
+
+        HierarchyBuilder(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        void add(String courseLabel, SectionEntry section) {
+            titles.putIfAbsent(courseLabel, section.course().title());
+            sections.computeIfAbsent(courseLabel, label -> new ArrayList<>()).add(section.code());
+        }
+
+        InstructorHierarchyDTO toDto() {
+            List<InstructorHierarchyDTO.CourseGroup> courses = new ArrayList<>();
+            sections.forEach((label, codes) ->
+                    courses.add(new InstructorHierarchyDTO.CourseGroup(label, titles.get(label), codes)));
+            return new InstructorHierarchyDTO(name, email, courses);
+        }
+    }
+
+    private static final class TimetableBuilder {
+
+        private final InstructorEntry instructor;
+        private final Map<String, List<Map<String, Object>>> courses = new LinkedHashMap<>();
+        private int weeklyMinutes;
+
+        TimetableBuilder(InstructorEntry instructor) {
+            this.instructor = instructor;
+        }
+
+        void add(String courseLabel, SectionEntry section, ScheduleEntry schedule) {
+            Map<String, Object> session = new LinkedHashMap<>();
+            session.put("sectionCode", section.code());
+            session.put("crn", section.crn());
+            session.put("days", schedule.days());
+            session.put("time", schedule.rawTime());
+            session.put("location", schedule.location());
+            courses.computeIfAbsent(courseLabel, label -> new ArrayList<>()).add(Collections.unmodifiableMap(session));
+
+            if (schedule.startTime() != null && schedule.endTime() != null && schedule.endTime() > schedule.startTime()) {
+                weeklyMinutes += (schedule.endTime() - schedule.startTime()) * Integer.bitCount(DayMask.of(schedule.days()));
+            }
+        }
+
+        Map<String, Object> toView(String termCode) {
+            Map<String, List<Map<String, Object>>> schedule = new LinkedHashMap<>();
+            courses.forEach((label, sessions) -> schedule.put(label, List.copyOf(sessions)));
+
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("instructorName", instructor.name());
+            view.put("email", instructor.email());
+            view.put("term", termCode);
+            view.put("weeklyMinutes", weeklyMinutes);
+            view.put("schedule", Collections.unmodifiableMap(schedule));
+            return Collections.unmodifiableMap(view);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.service.CatalogSnapshot.ScheduleEntry;
+import com.kaustack.catalog.service.CatalogSnapshot.SectionEntry;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Column store of a term's schedules for day and time filtering: parallel int arrays for start,
+ * end, day mask and owning section ordinal, with rows sorted by start time.
+ * <p>
+ * A filter is a binary search to the first row that starts late enough followed by a scan over
+ * plain ints; nothing is allocated per row. Missing times are stored as sentinels that never pass
+ * a time bound, matching how SQL compares NULLs.
+ */
+final class ScheduleColumns {
+
+    private static final int NO_START = Integer.MIN_VALUE;
+    private static final int NO_END = Integer.MAX_VALUE;
+
+    private final int[] start;
+    private final int[] end;
+    private final int[] dayMask;
+    private final int[] section;
+
+    private ScheduleColumns(int[] start, int[] end, int[] dayMask, int[] section) {
+        this.start = start;
+        this.end = end;
+        this.dayMask = dayMask;
+        this.section = section;
+    }
+
+    // Section ordinals are positions in the given list
+    static ScheduleColumns build(List<SectionEntry> sections) {
+        int rows = 0;
+        for (SectionEntry s : sections) rows += s.schedules().size();
+
+        long[] keys = new long[rows];
+        int[] start = new int[rows];
+        int[] end = new int[rows];
+        int[] dayMask = new int[rows];
+        int[] section = new int[rows];
+
+        int row = 0;
+        for (int ordinal = 0; ordinal < sections.size(); ordinal++) {
+            for (ScheduleEntry schedule : sections.get(ordinal).schedules()) {
+                start[row] = schedule.startTime() != null ? schedule.startTime() : NO_START;
+                end[row] = schedule.endTime() != null ? schedule.endTime() : NO_END;
+                dayMask[row] = DayMask.of(schedule.days());
+                section[row] = ordinal;
+                // Start time in the high half, row number in the low half, so sorting keys sorts rows
+                keys[row] = ((long) start[row] << 32) | row;
+                row++;
+            }
+        }
+        Arrays.sort(keys);
+
+        int[] sortedStart = new int[rows];
+        int[] sortedEnd = new int[rows];
+        int[] sortedDayMask = new int[rows];
+        int[] sortedSection = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            int from = (int) keys[i];
+            sortedStart[i] = start[from];
+            sortedEnd[i] = end[from];
+            sortedDayMask[i] = dayMask[from];
+            sortedSection[i] = section[from];
+        }
+        return new ScheduleColumns(sortedStart, sortedEnd, sortedDayMask, sortedSection);
+    }
+
+    /**
+     * Ordinals of sections with at least one schedule that meets the day match and starts no earlier
+     * than {@code minStart} and ends no later than {@code maxEnd}. Null arguments are not filtered on.
+     */
+    BitSet matching(Integer wantedDays, DayMask.Match match, Integer minStart, Integer maxEnd) {
+        boolean[] acceptedDays = new boolean[DayMask.ALL_DAYS + 1];
+        for (int mask = 0; mask <= DayMask.ALL_DAYS; mask++) {
+            acceptedDays[mask] = wantedDays == null || (wantedDays != 0 && mask != 0 && DayMask.matches(mask, wantedDays, match));
+        }
+
+        int from = minStart != null ? firstStartingAtOrAfter(minStart) : 0;
+        int last = maxEnd != null ? maxEnd : NO_END;
+
+        BitSet result = new BitSet();
+        for (int i = from; i < start.length; i++) {
+            if (end[i] <= last && acceptedDays[dayMask[i]]) result.set(section[i]);
+        }
+        return result;
+    }
+
+    // First row whose start is >= minStart; NO_START rows sort first and are skipped for any bound
+    private int firstStartingAtOrAfter(int minStart) {
+        int low = 0;
+        int high = start.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (start[mid] < minStart) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,120 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.misc.CatalogSyncedEvent;
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.repository.TermRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory registry of terms so request handling never has to look a term up in the database.
+ * Loaded once the application is ready and reloaded whenever a catalog sync completes.
+ * <p>
+ * A sync raises {@link CatalogSyncedEvent} only on the instance that ran it, so every instance also
+ * polls the term table on {@code app.catalog.poll-interval-ms}. When the terms differ from the loaded
+ * ones it raises the event itself, and the registry, snapshots and response cache all reload as if
+ * the sync had run locally.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TermRegistry {
+
+    private static final Comparator<Term> BY_UPDATED_AT =
+            Comparator.comparing(Term::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TermRepository termRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Terms terms = Terms.EMPTY;
+
+    /**
+     * Resolves the requested term, falling back to the most recently updated one when no code is given.
+     */
+    public Term resolve(String termCode) {
+        Terms current = terms();
+        if (termCode != null && !termCode.isEmpty()) {
+            Term term = current.byCode().get(termCode);
+            if (term == null) throw new IllegalArgumentException("Term not found: " + termCode);
+            return term;
+        }
+        if (current.latest() == null) throw new IllegalArgumentException("No terms found in database");
+        return current.latest();
+    }
+
+    public Optional<Term> find(String termCode) {
+        if (termCode == null || termCode.isEmpty()) return Optional.ofNullable(terms().latest());
+        return Optional.ofNullable(terms().byCode().get(termCode));
+    }
+
+    public Collection<Term> all() {
+        return terms().byCode().values();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogSynced(CatalogSyncedEvent event) {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.poll-interval-ms:5000}")
+    public void pollForSync() {
+        // Also picks up the first catalog when this instance started on an empty database
+        List<Term> loaded = termRepository.findAll();
+        if (versionOf(loaded).equals(terms.version())) return;
+
+        Term latest = loaded.stream().max(BY_UPDATED_AT).orElse(null);
+        log.info("Catalog was synced by another instance, reloading (current term: {})",
+                latest != null ? latest.getTermCode() : "none");
+        eventPublisher.publishEvent(new CatalogSyncedEvent(
+                latest != null ? latest.getTermCode() : null,
+                latest != null ? latest.getUpdatedAt() : null));
+    }
+
+    public synchronized void refresh() {
+        List<Term> loaded = termRepository.findAll();
+
+        Map<String, Term> byCode = new HashMap<>();
+        for (Term term : loaded) {
+            if (term.getTermCode() != null) byCode.put(term.getTermCode(), term);
+        }
+        Term latest = loaded.stream().max(BY_UPDATED_AT).orElse(null);
+
+        terms = new Terms(latest, Map.copyOf(byCode), versionOf(loaded));
+        log.info("Term registry loaded {} term(s), current term: {}",
+                byCode.size(), latest != null ? latest.getTermCode() : "none");
+    }
+
+    private Terms terms() {
+        return terms;
+    }
+
+    // Changes whenever a sync adds, removes, renames or bumps a term
+    private static String versionOf(List<Term> terms) {
+        return terms.stream()
+                .map(t -> t.getId() + "|" + t.getTermCode() + "|" + t.getName() + "|" + t.getUpdatedAt())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private record Terms(Term latest, Map<String, Term> byCode, String version) {
+
+        // Same version as an empty term table, so polling an empty database reloads nothing
+        static final Terms EMPTY = new Terms(null, Map.of(), versionOf(List.of()));
+    }
+}
@@ -0,0 +1,248 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.dto.TimetableRequest;
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.service.CatalogSnapshot.ScheduleEntry;
+import com.kaustack.catalog.service.CatalogSnapshot.SectionEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Enumerates conflict-free section combinations for a set of courses, one section per course.
+ * <p>
+ * Candidate sections are filtered by the request constraints up front, then sections of a course
+ * that meet at exactly the same times are merged into one option, since they are interchangeable
+ * as far as clashes go. The backtracking search runs over those options with the most constrained
+ * course first, checks clashes with week bitsets (see {@link WeekSlots}) and abandons a branch as
+ * soon as a remaining course has no option left. It stops at the result limit or the time budget.
+ */
+@Service
+@Slf4j
+public class TimetableService {
+
+    public static final int MAX_LIMIT = 200;
+    private static final int DEFAULT_LIMIT = 50;
+
+    // Deadline is checked once per this many search nodes
+    private static final int BUDGET_CHECK_INTERVAL = 256;
+
+    private final TermRegistry termRegistry;
+    private final CatalogSnapshotService snapshotService;
+    private final CatalogMapper mapper;
+    private final long timeBudgetNanos;
+
+    public TimetableService(TermRegistry termRegistry, CatalogSnapshotService snapshotService, CatalogMapper mapper,
+                            @Value("${app.timetable.time-budget-ms:250}") long timeBudgetMillis) {
+        this.termRegistry = termRegistry;
+        this.snapshotService = snapshotService;
+        this.mapper = mapper;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+    }
+
+    /**
+     * @param timetables  CRNs per timetable, in request course order
+     * @param sections    every section used by a timetable, keyed by CRN
+     * @param unavailable requested courses with no section left after filtering
+     * @param complete    false when the limit or the time budget cut the search short
+     */
+    public record Timetables(List<List<Integer>> timetables, Map<Integer, SectionDTO> sections,
+                             List<String> unavailable, boolean complete) {
+    }
+
+    private record Option(long[] slots, List<SectionEntry> sections) {
+    }
+
+    public Timetables generate(TimetableRequest request) {
+        Term term = termRegistry.resolve(request.getTermCode());
+        CatalogSnapshot snapshot = snapshotService.forTerm(term);
+
+        List<String> courseIds = request.getCourseIds() != null
+                ? request.getCourseIds().stream().distinct().toList()
+                : List.of();
+        int limit = request.getLimit() != null ? Math.clamp(request.getLimit(), 1, MAX_LIMIT) : DEFAULT_LIMIT;
+
+        Filter filter = new Filter(request);
+        List<Option[]> optionsByCourse = new ArrayList<>(courseIds.size());
+        List<String> unavailable = new ArrayList<>();
+        for (String courseId : courseIds) {
+            if (snapshot.findCourse(courseId).isEmpty()) {
+                throw new IllegalArgumentException("Course not found with ID: " + courseId);
+            }
+            Option[] options = options(snapshot.sectionsOfCourse(courseId), filter);
+            if (options.length == 0) unavailable.add(courseId);
+            optionsByCourse.add(options);
+        }
+
+        if (courseIds.isEmpty() || !unavailable.isEmpty()) {
+            return new Timetables(List.of(), Map.of(), unavailable, true);
+        }
+
+        Search search = new Search(optionsByCourse, limit, System.nanoTime() + timeBudgetNanos);
+        boolean complete = search.run();
+        if (!complete) {
+            log.debug("Timetable search for {} course(s) stopped after {} node(s), {} result(s)",
+                    courseIds.size(), search.nodes, search.results.size());
+        }
+
+        Map<Integer, SectionDTO> sections = new LinkedHashMap<>();
+        List<List<Integer>> timetables = new ArrayList<>(search.results.size());
+        for (SectionEntry[] timetable : search.results) {
+            List<Integer> crns = new ArrayList<>(timetable.length);
+            for (SectionEntry section : timetable) {
+                crns.add(section.crn());
+                sections.computeIfAbsent(section.crn(), crn -> mapper.toDTO(section, snapshot.getTermName()));
+            }
+            timetables.add(crns);
+        }
+        return new Timetables(timetables, sections, unavailable, complete);
+    }
+
+    private static Option[] options(List<SectionEntry> sections, Filter filter) {
+        Map<SlotKey, List<SectionEntry>> grouped = new LinkedHashMap<>();
+        for (SectionEntry section : sections) {
+            if (section.crn() == null || !filter.accepts(section)) continue;
+            grouped.computeIfAbsent(new SlotKey(WeekSlots.of(section.schedules())), k -> new ArrayList<>()).add(section);
+        }
+        return grouped.entrySet().stream()
+                .map(e -> new Option(e.getKey().slots(), e.getValue()))
+                .toArray(Option[]::new);
+    }
+
+    // long[] with value equality, for grouping sections that meet at the same times
+    private record SlotKey(long[] slots) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SlotKey other && Arrays.equals(slots, other.slots);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(slots);
+        }
+    }
+
+    private static final class Filter {
+
+        private final String mappedGender;
+        private final String branch;
+        private final int daysOff;
+        private final Integer earliestStart;
+        private final Integer latestEnd;
+
+        Filter(TimetableRequest request) {
+            this.mappedGender = request.getGender() != null ? CatalogService.mapGender(request.getGender()) : null;
+            this.branch = request.getBranch() != null && !request.getBranch().isEmpty()
+                    ? request.getBranch().toLowerCase()
+                    : null;
+            this.daysOff = DayMask.of(request.getDaysOff());
+            this.earliestStart = CatalogService.parseTimeBytes(request.getEarliestStart());
+            this.latestEnd = CatalogService.parseTimeBytes(request.getLatestEnd());
+        }
+
+        boolean accepts(SectionEntry section) {
+            if (mappedGender != null && (section.branch() == null || !section.branch().contains(mappedGender))) return false;
+            if (branch != null && (section.branch() == null || !section.branch().toLowerCase().contains(branch))) return false;
+
+            for (ScheduleEntry schedule : section.schedules()) {
+                if ((DayMask.of(schedule.days()) & daysOff) != 0) return false;
+                if (earliestStart != null && schedule.startTime() != null && schedule.startTime() < earliestStart) return false;
+                if (latestEnd != null && schedule.endTime() != null && schedule.endTime() > latestEnd) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class Search {
+
+        private final Option[][] options;
+        // Position of each searched course in the request
+        private final int[] requestIndex;
+        private final int limit;
+        private final long deadline;
+
+        private final long[] occupied = new long[WeekSlots.WORDS];
+        private final Option[] chosen;
+        private final List<SectionEntry[]> results = new ArrayList<>();
+        private long nodes;
+        private boolean stopped;
+
+        Search(List<Option[]> optionsByCourse, int limit, long deadline) {
+            // Fewest options first, so clashes surface near the root
+            Integer[] order = new Integer[optionsByCourse.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> optionsByCourse.get(i).length));
+
+            this.options = new Option[order.length][];
+            this.requestIndex = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                options[i] = optionsByCourse.get(order[i]);
+                requestIndex[i] = order[i];
+            }
+            this.chosen = new Option[order.length];
+            this.limit = limit;
+            this.deadline = deadline;
+        }
+
+        // True when the whole space was explored
+        boolean run() {
+            search(0);
+            return !stopped;
+        }
+
+        private void search(int depth) {
+            if (depth == options.length) {
+                expand(0, new SectionEntry[options.length]);
+                return;
+            }
+
+            for (Option option : options[depth]) {
+                if (stopped) return;
+                if (++nodes % BUDGET_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    stopped = true;
+                    return;
+                }
+                if (WeekSlots.overlaps(occupied, option.slots())) continue;
+
+                WeekSlots.add(occupied, option.slots());
+                chosen[depth] = option;
+                if (remainingFeasible(depth + 1)) search(depth + 1);
+                WeekSlots.remove(occupied, option.slots());
+            }
+        }
+
+        // Forward check: every course still to be placed must have an option that fits
+        private boolean remainingFeasible(int from) {
+            for (int depth = from; depth < options.length; depth++) {
+                boolean any = false;
+                for (Option option : options[depth]) {
+                    if (!WeekSlots.overlaps(occupied, option.slots())) {
+                        any = true;
+                        break;
+                    }
+                }
+                if (!any) return false;
+            }
+            return true;
+        }
+
+        // Each chosen option stands for one or more interchangeable sections
+        private void expand(int depth, SectionEntry[] timetable) {
+            if (depth == chosen.length) {
+                results.add(timetable.clone());
+                if (results.size() >= limit) stopped = true;
+                return;
+            }
+            for (SectionEntry section : chosen[depth].sections()) {
+                if (stopped) return;
+                timetable[requestIndex[depth]] = section;
+                expand(depth + 1, timetable);
+            }
+        }
+    }
+}
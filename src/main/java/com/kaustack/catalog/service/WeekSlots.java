@@ -0,0 +1,59 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.DayMask;
+import com.kaustack.catalog.service.CatalogSnapshot.ScheduleEntry;
+
+import java.util.List;
+
+/**
+ * Encodes the meeting times of a section as a bitset over the week, one bit per 5-minute slot
+ * in "MTWRFSU" day order. Two sections clash exactly when their bitsets intersect.
+ */
+public final class WeekSlots {
+
+    static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int WORDS = (DayMask.DAY_ORDER.length() * SLOTS_PER_DAY + 63) / 64;
+
+    private WeekSlots() {
+    }
+
+    // Schedules without days or times (TBA, online) occupy no slots
+    public static long[] of(List<ScheduleEntry> schedules) {
+        long[] slots = new long[WORDS];
+        for (ScheduleEntry schedule : schedules) {
+            if (schedule.startTime() == null || schedule.endTime() == null) continue;
+
+            int dayMask = DayMask.of(schedule.days());
+            int from = Math.max(0, schedule.startTime()) / SLOT_MINUTES;
+            int to = Math.min(SLOTS_PER_DAY, (schedule.endTime() + SLOT_MINUTES - 1) / SLOT_MINUTES);
+            for (int day = 0; day < DayMask.DAY_ORDER.length(); day++) {
+                if ((dayMask & (1 << day)) == 0) continue;
+                for (int slot = day * SLOTS_PER_DAY + from; slot < day * SLOTS_PER_DAY + to; slot++) {
+                    slots[slot >>> 6] |= 1L << slot;
+                }
+            }
+        }
+        return slots;
+    }
+
+    public static boolean overlaps(long[] a, long[] b) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((a[i] & b[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    public static void add(long[] target, long[] slots) {
+        for (int i = 0; i < WORDS; i++) {
+            target[i] |= slots[i];
+        }
+    }
+
+    // Only valid when slots was added to target and does not overlap anything else in it
+    public static void remove(long[] target, long[] slots) {
+        for (int i = 0; i < WORDS; i++) {
+            target[i] &= ~slots[i];
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.kaustack.catalog.misc;
+
+import com.kaustack.catalog.model.Section;
+import com.kaustack.catalog.model.Term;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogStageTests {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 8, 1, 10, 0);
+
+    @Autowired
+    private CatalogStage stage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Term term;
+
+    /**
+     * Publishes the catalog every delta below starts from: three instructors, three courses, four
+     * sections with a schedule each.
+     */
+    @BeforeEach
+    void publishInitialCatalog() throws InterruptedException {
+        term = term(UPDATED);
+
+        assertThat(stage.tryLock()).isTrue();
+        stage.prepare();
+        instructor("i1", "Ahmed");
+        instructor("i2", "Badr");
+        instructor("i3", "Fahad");
+        course("c1", "CPCS", "203");
+        course("c2", "MATH", "110");
+        course("c3", "PHYS", "101");
+        section("s1", "c1", "CPCS", "203", "A1", "i1", UPDATED);
+        section("s2", "c1", "CPCS", "203", "A2", "i2", UPDATED);
+        section("s3", "c2", "MATH", "110", "B1", "i1", UPDATED);
+        section("s4", "c3", "PHYS", "101", "C1", "i3", UPDATED);
+        schedule("sch1", "s1", "UT", 480);
+        schedule("sch2", "s2", "MW", 600);
+        schedule("sch3", "s3", "R", 720);
+        schedule("sch4", "s4", "UT", 840);
+        stage.validate();
+        stage.index();
+        stage.publish(term);
+        stage.cleanUpAsync();
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        // Waits for the last cleanup
+        assertThat(stage.tryLock()).isTrue();
+        stage.cleanUpAsync();
+        for (String table : List.of("schedule", "section", "course", "instructor", "term")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void fullPublishReplacesTheLiveCatalog() {
+        assertThat(count("instructor")).isEqualTo(3);
+        assertThat(count("course")).isEqualTo(3);
+        assertThat(count("section")).isEqualTo(4);
+        assertThat(count("schedule")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT term_code FROM term", String.class)).isEqualTo("202510");
+    }
+
+    @Test
+    void deltaAppliesNewChangedAndVanishedRows() throws InterruptedException {
+        Term synced = term(UPDATED.plusDays(1));
+        LocalDateTime sectionUpdated = UPDATED.plusHours(5);
+
+        assertThat(stage.tryLock()).isTrue();
+        stage.prepare();
+        instructor("i1", "Ahmed");
+        instructor("i2", "Badr Ali");
+        instructor("i4", "Hassan");
+        // c1 is renumbered, c3 leaves the catalog
+        course("c1", "CPCS", "204");
+        course("c2", "MATH", "110");
+        course("c4", "STAT", "210");
+        // s1 is unchanged, but its sort key follows the course; s2 changes instructor; s4 leaves
+        section("s1", "c1", "CPCS", "204", "A1", "i1", UPDATED);
+        section("s2", "c1", "CPCS", "204", "A2", "i4", sectionUpdated);
+        section("s3", "c2", "MATH", "110", "B1", "i1", UPDATED);
+        section("s5", "c4", "STAT", "210", "D1", "i1", sectionUpdated);
+        schedule("sch1", "s1", "UT", 480);
+        schedule("sch2b", "s2", "MW", 660);
+        schedule("sch3", "s3", "R", 720);
+        schedule("sch5", "s5", "T", 900);
+        stage.validate();
+        CatalogStage.DeltaCounts counts = stage.publishDelta(synced);
+        stage.cleanUpAsync();
+
+        assertThat(counts.instructors()).isEqualTo(new CatalogStage.Change(1, 1, 1));
+        assertThat(counts.courses()).isEqualTo(new CatalogStage.Change(1, 1, 1));
+        assertThat(counts.sections()).isEqualTo(new CatalogStage.Change(1, 2, 1));
+        assertThat(counts.schedules()).isEqualTo(new CatalogStage.Change(2, 0, 2));
+        assertThat(counts.changed()).isTrue();
+
+        assertThat(column("SELECT id, name FROM instructor"))
+                .isEqualTo(Map.of("i1", "Ahmed", "i2", "Badr Ali", "i4", "Hassan"));
+        assertThat(column("SELECT id, number FROM course"))
+                .isEqualTo(Map.of("c1", "204", "c2", "110", "c4", "210"));
+        assertThat(column("SELECT id, sort_key FROM section")).isEqualTo(Map.of(
+                "s1", "CPCS 204 A1", "s2", "CPCS 204 A2", "s3", "MATH 110 B1", "s5", "STAT 210 D1"));
+        assertThat(column("SELECT id, instructor_id FROM section"))
+                .isEqualTo(Map.of("s1", "i1", "s2", "i4", "s3", "i1", "s5", "i1"));
+        assertThat(column("SELECT id, section_id FROM schedule"))
+                .isEqualTo(Map.of("sch1", "s1", "sch2b", "s2", "sch3", "s3", "sch5", "s5"));
+        assertThat(jdbcTemplate.queryForObject("SELECT start_time FROM schedule WHERE id = 'sch2b'", Integer.class))
+                .isEqualTo(660);
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM term", Timestamp.class))
+                .isEqualTo(Timestamp.valueOf(synced.getUpdatedAt()));
+    }
+
+    @Test
+    void deltaOfAnUnchangedCatalogLeavesTheTermAlone() throws InterruptedException {
+        assertThat(stage.tryLock()).isTrue();
+        stage.prepare();
+        jdbcTemplate.update("INSERT INTO stage_instructor SELECT * FROM instructor");
+        jdbcTemplate.update("INSERT INTO stage_course SELECT * FROM course");
+        jdbcTemplate.update("INSERT INTO stage_section SELECT * FROM section");
+        jdbcTemplate.update("INSERT INTO stage_schedule SELECT * FROM schedule");
+        CatalogStage.DeltaCounts counts = stage.publishDelta(term(UPDATED.plusDays(1)));
+        stage.cleanUpAsync();
+
+        assertThat(counts.changed()).isFalse();
+        assertThat(count("section")).isEqualTo(4);
+        assertThat(count("schedule")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM term", Timestamp.class))
+                .isEqualTo(Timestamp.valueOf(UPDATED));
+    }
+
+    private Term term(LocalDateTime updatedAt) {
+        Term term = new Term();
+        term.setId("t1");
+        term.setName("Fall 2025");
+        term.setTermCode("202510");
+        term.setCreatedAt(UPDATED);
+        term.setUpdatedAt(updatedAt);
+        return term;
+    }
+
+    private void instructor(String id, String name) {
+        jdbcTemplate.update("INSERT INTO stage_instructor (id, name, email, search_name) VALUES (?, ?, ?, ?)",
+                id, name, id + "@kau.edu.sa", name.toLowerCase());
+    }
+
+    private void course(String id, String code, String number) {
+        jdbcTemplate.update("INSERT INTO stage_course (id, code, number, title) VALUES (?, ?, ?, ?)",
+                id, code, number, code + " " + number);
+    }
+
+    private void section(String id, String courseId, String courseCode, String courseNumber, String code,
+                         String instructorId, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO stage_section (id, crn, term_id, course_id, instructor_id, code, updated_at, sort_key)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, id.hashCode(), term.getId(), courseId, instructorId, code, Timestamp.valueOf(updatedAt),
+                Section.sortKeyOf(courseCode, courseNumber, code));
+    }
+
+    private void schedule(String id, String sectionId, String days, int startTime) {
+        jdbcTemplate.update("INSERT INTO stage_schedule (id, section_id, days, start_time, end_time) VALUES (?, ?, ?, ?, ?)",
+                id, sectionId, days, startTime, startTime + 50);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private Map<String, String> column(String sql) {
+        return jdbcTemplate.query(sql, rs -> {
+            Map<String, String> values = new HashMap<>();
+            while (rs.next()) values.put(rs.getString(1), rs.getString(2));
+            return values;
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.kaustack.catalog.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTextTests {
+
+    @Test
+    void lowerCasesLatin() {
+        assertThat(SearchText.normalize("CPCS Programming II")).isEqualTo("cpcs programming ii");
+        assertThat(SearchText.normalize("ÉCOLE")).isEqualTo("école");
+    }
+
+    @Test
+    void foldsAlefVariants() {
+        for (String alef : new String[]{"أ", "إ", "آ", "ٱ", "ا"}) {
+            assertThat(SearchText.normalize(alef + "حمد")).as(alef).isEqualTo("احمد");
+        }
+        assertThat(SearchText.normalize("الإسلامية")).isEqualTo(SearchText.normalize("الاسلاميه"));
+    }
+
+    @Test
+    void foldsTaMarbutaAndYa() {
+        assertThat(SearchText.normalize("برمجة")).isEqualTo("برمجه");
+        assertThat(SearchText.normalize("علي")).isEqualTo("على");
+        assertThat(SearchText.normalize("على")).isEqualTo("على");
+    }
+
+    @Test
+    void foldsPersianLettersToArabic() {
+        assertThat(SearchText.normalize("کیمیا")).isEqualTo("كىمىا");
+        assertThat(SearchText.normalize("کیمیا")).isEqualTo(SearchText.normalize("كيميا"));
+    }
+
+    @Test
+    void foldsArabicIndicDigits() {
+        assertThat(SearchText.normalize("٠١٢٣٤٥٦٧٨٩")).isEqualTo("0123456789");
+        assertThat(SearchText.normalize("۰۱۲۳۴۵۶۷۸۹")).isEqualTo("0123456789");
+        assertThat(SearchText.normalize("فيز ١١٠")).isEqualTo("فىز 110");
+    }
+
+    @Test
+    void foldsDashesAndNoBreakSpace() {
+        // Hyphen, non-breaking hyphen, figure dash, en dash, em dash, horizontal bar, minus sign
+        for (char dash : "‐‑‒–—―−".toCharArray()) {
+            assertThat(SearchText.normalize("CPCS" + dash + "203")).as("U+%04X", (int) dash).isEqualTo("cpcs-203");
+        }
+        assertThat(SearchText.normalize("CPCS 203")).isEqualTo("cpcs 203");
+    }
+
+    @Test
+    void dropsTashkeelAndTatweel() {
+        // Fathatan, fatha, damma, kasra, shadda, sukun, superscript alef
+        assertThat(SearchText.normalize("مُحَمَّدٌ")).isEqualTo("محمد");
+        assertThat(SearchText.normalize("عِلْمًا")).isEqualTo("علما");
+        assertThat(SearchText.normalize("رحمٰن")).isEqualTo("رحمن");
+        // Quranic annotation marks
+        assertThat(SearchText.normalize("قلۖ هوؐ")).isEqualTo("قل هو");
+        assertThat(SearchText.normalize("برمـــجة")).isEqualTo("برمجه");
+        assertThat(SearchText.normalize("ـَّ")).isEmpty();
+    }
+
+    @Test
+    void onlyLowerCasesCharactersPastTheArabicBlock() {
+        // Fullwidth Latin, capital sharp s
+        assertThat(SearchText.normalize("ＣＰＣＳ")).isEqualTo("ｃｐｃｓ");
+        assertThat(SearchText.normalize("ẞ")).isEqualTo("ß");
+        // Arabic presentation forms and supplement letters are kept as they are
+        assertThat(SearchText.normalize("ﻻﮎݐ")).isEqualTo("ﻻﮎݐ");
+        // As are surrogate pairs
+        assertThat(SearchText.normalize("📚")).isEqualTo("📚");
+    }
+
+    @Test
+    void nullAndEmptyAreEmpty() {
+        assertThat(SearchText.normalize(null)).isEmpty();
+        assertThat(SearchText.normalize("")).isEmpty();
+        assertThat(SearchText.compact(null)).isEmpty();
+        assertThat(SearchText.compact("")).isEmpty();
+        assertThat(SearchText.tokenize(null)).isEmpty();
+        assertThat(SearchText.tokenize("")).isEmpty();
+    }
+
+    @Test
+    void compactRemovesWhitespaceAndEveryDash() {
+        assertThat(SearchText.compact("CPCS 203")).isEqualTo("cpcs203");
+        assertThat(SearchText.compact("cpcs-203")).isEqualTo("cpcs203");
+        assertThat(SearchText.compact("CPCS–203")).isEqualTo("cpcs203");
+        assertThat(SearchText.compact(" CPCS \t203\n")).isEqualTo("cpcs203");
+        assertThat(SearchText.compact("فِيز ١١٠")).isEqualTo("فىز110");
+        assertThat(SearchText.compact("- — ـ")).isEmpty();
+    }
+
+    @Test
+    void tokenizeSplitsOnWhitespaceAndEveryDash() {
+        assertThat(SearchText.tokenize("CPCS 203")).containsExactly("cpcs", "203");
+        assertThat(SearchText.tokenize("  cpcs--203\t pro ")).containsExactly("cpcs", "203", "pro");
+        assertThat(SearchText.tokenize("CPCS−203 II")).containsExactly("cpcs", "203", "ii");
+        assertThat(SearchText.tokenize("الثقافة الإسلامية")).containsExactly("الثقافه", "الاسلامىه");
+        assertThat(SearchText.tokenize("a b c d e")).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void droppedMarksDoNotSplitTokens() {
+        assertThat(SearchText.tokenize("مُحَمَّد عَلِي")).containsExactly("محمد", "على");
+        assertThat(SearchText.tokenize("ـــ - َ")).isEmpty();
+        assertThat(SearchText.tokenize("برمـجة")).containsExactly("برمجه");
+    }
+}
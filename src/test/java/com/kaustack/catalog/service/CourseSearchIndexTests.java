@@ -0,0 +1,112 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.model.Course;
+import com.kaustack.catalog.model.SearchText;
+import com.kaustack.catalog.service.CatalogSnapshot.CourseEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseSearchIndexTests {
+
+    private static final List<CourseEntry> COURSES = List.of(
+            course("CPCS", "203", "Programming II"),
+            course("CPCS", "204", "Data Structures I"),
+            course("CPIT", "110", "Problem Solving and Programming"),
+            course("MATH", "110", "Calculus I"),
+            course("EE", "201", "Circuits"),
+            course("عرب", "101", "مهارات اللغة العربية"),
+            course("سلم", "101", "الثقافة الإسلامية"),
+            course("فيز", "110", "فيزياء عامة (١)"),
+            course("ISLS", "201", "Islamic Culture - إسلامية"),
+            course("CPCS", "499", "مشروع التخرج"),
+            course("MEEN", "301", "Thermo Mostat Lab"),
+            course("اجت", "201", "برمجة مجتمع")
+    );
+
+    private final CourseSearchIndex index = CourseSearchIndex.build(COURSES);
+
+    @Test
+    void everySubstringOfTheCatalogMatchesALinearScan() {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (CourseEntry course : COURSES) {
+            String text = searchable(course);
+            for (int length = 1; length <= 6; length++) {
+                for (int i = 0; i + length <= text.length(); i++) {
+                    tokens.addAll(List.of(SearchText.tokenize(text.substring(i, i + length))));
+                }
+            }
+        }
+        assertThat(tokens).anyMatch(t -> t.length() == 1)
+                .anyMatch(t -> t.length() == 2)
+                .anyMatch(t -> t.length() == 3)
+                .anyMatch(t -> t.length() > 3);
+
+        for (String token : tokens) {
+            assertThat(index.search(new String[]{token})).as(token).containsExactly(linearScan(token));
+        }
+    }
+
+    @Test
+    void multiTokenQueriesMatchALinearScan() {
+        List<String> queries = List.of(
+                "cpcs 2", "CPCS-203", "cpcs203", "pro ii", "programming cpit", "i",
+                "ال", "الاسلاميه", "الإسلامية", "١١٠", "110 فيز", "islamic إسلامية", "cul ure",
+                "structures xyz", "zz", "تخرج 499", "مهارات ا");
+
+        for (String query : queries) {
+            String[] tokens = SearchText.tokenize(query);
+            assertThat(index.search(tokens)).as(query).containsExactly(linearScan(tokens));
+        }
+    }
+
+    @Test
+    void longTokensAreVerifiedAfterTheTrigramIntersection() {
+        // Every trigram occurs in one course, but never as one run of text
+        assertThat(index.search(new String[]{"thermostat"})).isEmpty();
+        assertThat(index.search(SearchText.tokenize("برمجتمع"))).isEmpty();
+        assertThat(index.search(new String[]{"thermo"})).containsExactly(linearScan("thermo"));
+    }
+
+    @Test
+    void tokensMissingFromTheIndexMatchNothing() {
+        assertThat(index.search(new String[]{"q"})).isEmpty();
+        assertThat(index.search(new String[]{"cpcsx"})).isEmpty();
+        assertThat(index.search(new String[]{"calculus", "circuits"})).isEmpty();
+    }
+
+    @Test
+    void noTokensMeansNoFilter() {
+        assertThat(index.search(new String[0])).isNull();
+    }
+
+    private static int[] linearScan(String... tokens) {
+        return IntStream.range(0, COURSES.size())
+                .filter(i -> {
+                    String text = searchable(COURSES.get(i));
+                    for (String token : tokens) {
+                        if (!text.contains(token)) return false;
+                    }
+                    return true;
+                })
+                .toArray();
+    }
+
+    private static String searchable(CourseEntry c) {
+        return SearchText.normalize(c.code() + c.number() + " " + c.code() + " " + c.number() + " " + c.title());
+    }
+
+    private static CourseEntry course(String code, String number, String title) {
+        Course course = new Course();
+        course.setId(code + number);
+        course.setCode(code);
+        course.setNumber(number);
+        course.setTitle(title);
+        return CourseEntry.of(course);
+    }
+}
@@ -0,0 +1,206 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.model.*;
+import com.kaustack.catalog.repository.CourseRepository;
+import com.kaustack.catalog.repository.SectionRepository;
+import com.kaustack.catalog.repository.TermRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-memory schedule filter and the schedule subquery it falls back to must select the same
+ * sections. Both are checked against a plain evaluation of the filter over the seeded schedules.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleColumnsTests {
+
+    private static final List<String> DAYS = Arrays.asList(null, "", "Q", "M", "MW", "UTR", "MTWRFSU");
+    private static final List<Integer> STARTS = Arrays.asList(null, 480, 600);
+    private static final List<Integer> ENDS = Arrays.asList(null, 530, 650);
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private TermRegistry termRegistry;
+
+    @Value("${app.search.max-schedule-matches}")
+    private int maxScheduleMatches;
+
+    private Term term;
+    private Course course;
+
+    @BeforeEach
+    void seedTerm() {
+        term = new Term();
+        term.setName("Fall");
+        term.setTermCode("202510");
+        term.setUpdatedAt(LocalDateTime.now());
+        term = termRepository.save(term);
+
+        course = new Course();
+        course.setCode("CPCS");
+        course.setNumber("203");
+        course.setTitle("Programming");
+        course = courseRepository.save(course);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(catalogService, "maxScheduleMatches", maxScheduleMatches);
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        termRepository.deleteAll();
+    }
+
+    @Test
+    void idListAndSubqueryAgreeOnEveryFilter() {
+        // Every combination of days and times as a one-schedule section, plus sections pairing two of them
+        List<Schedule> combinations = new ArrayList<>();
+        for (String days : DAYS) {
+            for (Integer start : STARTS) {
+                for (Integer end : ENDS) {
+                    combinations.add(schedule(days, start, end));
+                }
+            }
+        }
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < combinations.size(); i++) {
+            sections.add(section(combinations.get(i)));
+            Schedule other = combinations.get((i * 7 + 3) % combinations.size());
+            sections.add(section(copy(combinations.get(i)), copy(other)));
+        }
+        sections.add(section());
+        save(sections);
+
+        int filters = 0;
+        for (String days : List.of("", "Q", "M", "MW", "UTR", "MTWRFSU")) {
+            for (DayMask.Match match : DayMask.Match.values()) {
+                // Bounds on and just inside the seeded 08:00 start and 10:50 end
+                for (String startTime : Arrays.asList(null, "08:00", "08:01")) {
+                    for (String endTime : Arrays.asList(null, "08:50", "10:49", "10:50")) {
+                        if (days.isEmpty() && startTime == null && endTime == null) continue;
+                        String filter = days + " " + match + " " + startTime + "-" + endTime;
+
+                        Set<String> expected = expected(sections, days, match, startTime, endTime);
+                        // The id list path passes the snapshot's ids on as they are
+                        assertThat(snapshotIds(days, match, startTime, endTime)).as(filter).isEqualTo(expected);
+                        assertThat(searchIds(-1, days, match, startTime, endTime)).as(filter).isEqualTo(expected);
+                        filters++;
+                    }
+                }
+            }
+        }
+        assertThat(filters).isGreaterThan(200);
+    }
+
+    @Test
+    void filtersMatchingMoreThanTheIdListLimitUseTheSubquery() {
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i <= maxScheduleMatches; i++) {
+            sections.add(section(schedule("UT", 480 + i % 3 * 5, 530)));
+        }
+        sections.add(section(schedule("MW", 480, 530)));
+        sections.add(section(schedule("UT", null, 530)));
+        save(sections);
+
+        Set<String> expected = expected(sections, "UT", DayMask.Match.ALL, "08:00", "08:50");
+        assertThat(expected).hasSize(maxScheduleMatches + 1);
+        assertThat(snapshotIds("UT", DayMask.Match.ALL, "08:00", "08:50")).isEqualTo(expected);
+        assertThat(searchIds(maxScheduleMatches, "UT", DayMask.Match.ALL, "08:00", "08:50")).isEqualTo(expected);
+
+        // One section fewer fits the id list again
+        Set<String> narrower = expected(sections, "UT", DayMask.Match.ALL, "08:05", "08:50");
+        assertThat(narrower).hasSizeLessThanOrEqualTo(maxScheduleMatches);
+        assertThat(searchIds(maxScheduleMatches, "UT", DayMask.Match.ALL, "08:05", "08:50")).isEqualTo(narrower);
+    }
+
+    private Set<String> snapshotIds(String days, DayMask.Match match, String startTime, String endTime) {
+        return new HashSet<>(snapshotService.forTerm(term).sectionIdsBySchedule(
+                days.isEmpty() ? null : DayMask.of(days), match,
+                CatalogService.parseTimeBytes(startTime), CatalogService.parseTimeBytes(endTime)));
+    }
+
+    // Above the limit the search falls back to the schedule subquery
+    private Set<String> searchIds(int limit, String days, DayMask.Match match, String startTime, String endTime) {
+        ReflectionTestUtils.setField(catalogService, "maxScheduleMatches", limit);
+        Set<String> ids = new HashSet<>();
+        for (SectionDTO section : catalogService.search(null, null, 1, 5000, days, match,
+                null, startTime, endTime, null, null, null, null, null)) {
+            ids.add(section.getId());
+        }
+        return ids;
+    }
+
+    private static Set<String> expected(List<Section> sections, String days, DayMask.Match match,
+                                        String startTime, String endTime) {
+        Integer wanted = days.isEmpty() ? null : DayMask.of(days);
+        Integer minStart = CatalogService.parseTimeBytes(startTime);
+        Integer maxEnd = CatalogService.parseTimeBytes(endTime);
+
+        Set<String> ids = new HashSet<>();
+        for (Section section : sections) {
+            for (Schedule s : section.getSchedules()) {
+                int mask = DayMask.of(s.getDays());
+                if (wanted != null && (wanted == 0 || mask == 0 || !DayMask.matches(mask, wanted, match))) continue;
+                if (minStart != null && (s.getStartTime() == null || s.getStartTime() < minStart)) continue;
+                if (maxEnd != null && (s.getEndTime() == null || s.getEndTime() > maxEnd)) continue;
+                ids.add(section.getId());
+            }
+        }
+        return ids;
+    }
+
+    private void save(List<Section> sections) {
+        sectionRepository.saveAll(sections);
+        termRegistry.refresh();
+    }
+
+    private Section section(Schedule... schedules) {
+        Section section = new Section();
+        section.setId(UUID.randomUUID().toString());
+        section.setCode("A1");
+        section.setTerm(term);
+        section.setCourse(course);
+        for (Schedule schedule : schedules) schedule.setSection(section);
+        section.setSchedules(new ArrayList<>(List.of(schedules)));
+        return section;
+    }
+
+    private static Schedule schedule(String days, Integer start, Integer end) {
+        Schedule schedule = new Schedule();
+        schedule.setDays(days);
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        return schedule;
+    }
+
+    private static Schedule copy(Schedule schedule) {
+        return schedule(schedule.getDays(), schedule.getStartTime(), schedule.getEndTime());
+    }
+}
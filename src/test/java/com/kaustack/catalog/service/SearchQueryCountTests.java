@@ -0,0 +1,136 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.SectionDTO;
+import com.kaustack.catalog.model.*;
+import com.kaustack.catalog.repository.CourseRepository;
+import com.kaustack.catalog.repository.InstructorRepository;
+import com.kaustack.catalog.repository.SectionRepository;
+import com.kaustack.catalog.repository.TermRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchQueryCountTests {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private TermRegistry termRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        Term term = new Term();
+        term.setName("Fall");
+        term.setTermCode("202510");
+        term.setUpdatedAt(LocalDateTime.now());
+        term = termRepository.save(term);
+
+        List<Instructor> instructors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Instructor instructor = new Instructor();
+            instructor.setId("inst-" + i);
+            instructor.setName("Instructor " + i);
+            instructors.add(instructorRepository.save(instructor));
+        }
+
+        for (int c = 0; c < 6; c++) {
+            Course course = new Course();
+            course.setCode("CPCS");
+            course.setNumber(String.valueOf(200 + c));
+            course.setTitle("Course " + c);
+            course = courseRepository.save(course);
+
+            for (int s = 0; s < 10; s++) {
+                Instructor instructor = instructors.get((c + s) % instructors.size());
+
+                Section section = new Section();
+                section.setId("sec-" + c + "-" + s);
+                section.setCrn(10000 + c * 100 + s);
+                section.setCode("A" + s);
+                section.setTerm(term);
+                section.setCourse(course);
+                section.setInstructor(instructor);
+
+                List<Schedule> schedules = new ArrayList<>();
+                for (String days : List.of("UT", "R")) {
+                    Schedule schedule = new Schedule();
+                    schedule.setDays(days);
+                    schedule.setStartTime(480);
+                    schedule.setEndTime(530);
+                    schedule.setSection(section);
+                    schedule.setInstructor(instructors.get((c + s + 1) % instructors.size()));
+                    schedules.add(schedule);
+                }
+                section.setSchedules(schedules);
+                sectionRepository.save(section);
+            }
+        }
+
+        termRegistry.refresh();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        instructorRepository.deleteAll();
+        termRepository.deleteAll();
+    }
+
+    @Test
+    void searchStatementCountDoesNotDependOnPageSize() {
+        long small = statementsForPage(5);
+        long large = statementsForPage(50);
+
+        // count + page of ids + one projection query
+        assertThat(small).isEqualTo(3);
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long statementsForPage(int limit) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<SectionDTO> page = catalogService.search(
+                null, null, 1, limit, null, DayMask.Match.ALL, null,
+                null, null, null, null, null, null, null
+        );
+        List<SectionDTO> dtos = page.getContent();
+
+        assertThat(dtos).hasSize(limit);
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getSchedules()).hasSize(2));
+
+        return statistics.getPrepareStatementCount();
+    }
+}
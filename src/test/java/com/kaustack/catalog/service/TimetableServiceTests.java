@@ -0,0 +1,277 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.dto.TimetableRequest;
+import com.kaustack.catalog.model.Course;
+import com.kaustack.catalog.model.Schedule;
+import com.kaustack.catalog.model.Section;
+import com.kaustack.catalog.model.Term;
+import com.kaustack.catalog.repository.CourseRepository;
+import com.kaustack.catalog.repository.SectionRepository;
+import com.kaustack.catalog.repository.TermRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimetableServiceTests {
+
+    private static final String MALE = "طلاب - جدة";
+    private static final String FEMALE = "طالبات - جدة";
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private TermRegistry termRegistry;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private CatalogMapper mapper;
+
+    private Term term;
+    private int nextCrn = 10000;
+    private final Map<Integer, List<String>> meetingsByCrn = new HashMap<>();
+
+    @BeforeEach
+    void seedTerm() {
+        term = new Term();
+        term.setName("Fall");
+        term.setTermCode("202510");
+        term.setUpdatedAt(LocalDateTime.now());
+        term = termRepository.save(term);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sectionRepository.deleteAll();
+        courseRepository.deleteAll();
+        termRepository.deleteAll();
+    }
+
+    @Test
+    void combinesSectionsThatDoNotClash() {
+        Course a = course("CPCS", "203");
+        int a1 = section(a, MALE, "UT 08:00-08:50");
+        int a2 = section(a, MALE, "UT 09:00-09:50");
+        // Meets with a1, so it is interchangeable with it
+        int a3 = section(a, MALE, "UT 08:00-08:50");
+        Course b = course("CPCS", "204");
+        int b1 = section(b, MALE, "UT 08:50-09:00");
+        section(b, MALE, "UT 08:30-09:20");
+        int b3 = section(b, MALE, "M 08:00-08:50", "W 13:00-14:00");
+
+        TimetableService.Timetables result = generate(request(a, b));
+
+        assertThat(result.timetables()).containsExactlyInAnyOrder(
+                List.of(a1, b1), List.of(a1, b3), List.of(a3, b1), List.of(a3, b3), List.of(a2, b1), List.of(a2, b3));
+        assertThat(result.sections()).containsOnlyKeys(a1, a2, a3, b1, b3);
+        assertThat(result.unavailable()).isEmpty();
+        assertThat(result.complete()).isTrue();
+    }
+
+    @Test
+    void filtersSectionsByGenderAndBranch() {
+        Course a = course("CPCS", "203");
+        int male = section(a, MALE, "UT 08:00-08:50");
+        int female = section(a, FEMALE, "UT 09:00-09:50");
+        int rabigh = section(a, "طلاب - Rabigh", "UT 10:00-10:50");
+        section(a, null, "UT 11:00-11:50");
+
+        TimetableRequest request = request(a);
+        request.setGender("male");
+        assertThat(crns(generate(request))).containsExactlyInAnyOrder(male, rabigh);
+
+        request.setGender("female");
+        assertThat(crns(generate(request))).containsExactly(female);
+
+        request.setGender(null);
+        request.setBranch("RABIGH");
+        assertThat(crns(generate(request))).containsExactly(rabigh);
+    }
+
+    @Test
+    void filtersSectionsByDaysOffAndHours() {
+        Course a = course("CPCS", "203");
+        int early = section(a, MALE, "UT 08:00-08:50");
+        int atStart = section(a, MALE, "UT 09:00-09:50");
+        int thursday = section(a, MALE, "UR 10:00-10:50");
+        int atEnd = section(a, MALE, "UT 11:00-12:00");
+        int late = section(a, MALE, "UT 11:30-12:10");
+        // No meeting times, nothing to filter on
+        int tba = section(a, MALE);
+
+        TimetableRequest request = request(a);
+        request.setDaysOff("R");
+        assertThat(crns(generate(request))).containsExactlyInAnyOrder(early, atStart, atEnd, late, tba);
+
+        request.setDaysOff(null);
+        request.setEarliestStart("09:00");
+        request.setLatestEnd("12:00");
+        assertThat(crns(generate(request))).containsExactlyInAnyOrder(atStart, thursday, atEnd, tba);
+    }
+
+    @Test
+    void reportsCoursesWithNoSectionLeft() {
+        Course a = course("CPCS", "203");
+        section(a, MALE, "UT 08:00-08:50");
+        Course b = course("CPCS", "204");
+        section(b, FEMALE, "UT 09:00-09:50");
+
+        TimetableRequest request = request(a, b);
+        request.setGender("male");
+        TimetableService.Timetables result = generate(request);
+
+        assertThat(result.timetables()).isEmpty();
+        assertThat(result.unavailable()).containsExactly(b.getId());
+        assertThat(result.complete()).isTrue();
+    }
+
+    @Test
+    void unsatisfiableCourseSetHasNoTimetables() {
+        Course a = course("CPCS", "203");
+        section(a, MALE, "UT 08:00-08:50");
+        section(a, MALE, "MW 08:00-08:50");
+        Course b = course("CPCS", "204");
+        section(b, MALE, "UTMW 08:30-09:20");
+        Course c = course("MATH", "110");
+        section(c, MALE, "R 08:00-08:50");
+
+        TimetableService.Timetables result = generate(request(a, b, c));
+
+        assertThat(result.timetables()).isEmpty();
+        assertThat(result.unavailable()).isEmpty();
+        assertThat(result.complete()).isTrue();
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        Course[] courses = competingCourses();
+
+        TimetableRequest request = request(courses);
+        request.setLimit(10);
+        TimetableService.Timetables limited = generate(request);
+        assertThat(limited.timetables()).hasSize(10).doesNotHaveDuplicates();
+        assertThat(limited.complete()).isFalse();
+
+        request.setLimit(TimetableService.MAX_LIMIT);
+        TimetableService.Timetables all = generate(request);
+        // Four courses over the same five hours: 5 * 4 * 3 * 2 ways to give each its own hour
+        assertThat(all.timetables()).hasSize(120).doesNotHaveDuplicates().containsAll(limited.timetables());
+        assertThat(all.complete()).isTrue();
+        for (List<Integer> timetable : all.timetables()) {
+            assertThat(new HashSet<>(timetable)).hasSize(courses.length);
+            assertThat(all.sections()).containsKeys(timetable.toArray(Integer[]::new));
+            assertThat(timetable.stream().map(meetingsByCrn::get)).doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void stopsAtTheTimeBudget() {
+        Course[] courses = competingCourses();
+        TimetableService noBudget = new TimetableService(termRegistry, snapshotService, mapper, 0);
+
+        TimetableRequest request = request(courses);
+        request.setLimit(TimetableService.MAX_LIMIT);
+        termRegistry.refresh();
+        TimetableService.Timetables result = noBudget.generate(request);
+
+        assertThat(result.timetables()).hasSizeLessThan(120);
+        assertThat(result.complete()).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownCourses() {
+        TimetableRequest request = new TimetableRequest();
+        request.setTermCode(term.getTermCode());
+        request.setCourseIds(List.of("missing"));
+        termRegistry.refresh();
+
+        assertThatThrownBy(() -> timetableService.generate(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Every course has a section in each of the same five hours
+    private Course[] competingCourses() {
+        Course[] courses = new Course[4];
+        for (int c = 0; c < courses.length; c++) {
+            courses[c] = course("CPCS", String.valueOf(201 + c));
+            for (int hour = 8; hour < 13; hour++) {
+                section(courses[c], MALE, "UT %02d:00-%02d:50".formatted(hour, hour));
+            }
+        }
+        return courses;
+    }
+
+    private TimetableService.Timetables generate(TimetableRequest request) {
+        termRegistry.refresh();
+        return timetableService.generate(request);
+    }
+
+    private TimetableRequest request(Course... courses) {
+        TimetableRequest request = new TimetableRequest();
+        request.setTermCode(term.getTermCode());
+        request.setCourseIds(Arrays.stream(courses).map(Course::getId).toList());
+        return request;
+    }
+
+    private static List<Integer> crns(TimetableService.Timetables result) {
+        return result.timetables().stream().map(List::getFirst).toList();
+    }
+
+    private Course course(String code, String number) {
+        Course course = new Course();
+        course.setCode(code);
+        course.setNumber(number);
+        course.setTitle(code + " " + number);
+        return courseRepository.save(course);
+    }
+
+    /**
+     * Saves a section meeting at the given "DAYS HH:mm-HH:mm" times and returns its CRN.
+     */
+    private int section(Course course, String branch, String... meetings) {
+        Section section = new Section();
+        section.setId("sec-" + nextCrn);
+        section.setCrn(nextCrn++);
+        section.setCode("A" + section.getCrn());
+        section.setBranch(branch);
+        section.setTerm(term);
+        section.setCourse(course);
+
+        List<Schedule> schedules = new ArrayList<>();
+        for (String meeting : meetings) {
+            String[] parts = meeting.split("[ -]");
+            Schedule schedule = new Schedule();
+            schedule.setDays(parts[0]);
+            schedule.setStartTime(CatalogService.parseTimeBytes(parts[1]));
+            schedule.setEndTime(CatalogService.parseTimeBytes(parts[2]));
+            schedule.setSection(section);
+            schedules.add(schedule);
+        }
+        section.setSchedules(schedules);
+        sectionRepository.save(section);
+        meetingsByCrn.put(section.getCrn(), List.of(meetings));
+        return section.getCrn();
+    }
+}
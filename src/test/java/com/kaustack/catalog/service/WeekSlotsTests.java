@@ -0,0 +1,93 @@
+package com.kaustack.catalog.service;
+
+import com.kaustack.catalog.service.CatalogSnapshot.ScheduleEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeekSlotsTests {
+
+    @Test
+    void overlappingSessionsClash() {
+        assertThat(clash(session("UT", "08:00", "08:50"), session("T", "08:30", "09:20"))).isTrue();
+        // One inside the other
+        assertThat(clash(session("MW", "08:00", "10:00"), session("W", "09:00", "09:10"))).isTrue();
+    }
+
+    @Test
+    void adjacentSessionsDoNotClash() {
+        assertThat(clash(session("UT", "08:00", "08:50"), session("UT", "08:50", "09:40"))).isFalse();
+        assertThat(clash(session("UT", "08:00", "08:50"), session("UT", "07:10", "08:00"))).isFalse();
+    }
+
+    @Test
+    void sessionsOnDifferentDaysDoNotClash() {
+        assertThat(clash(session("UT", "08:00", "08:50"), session("MWR", "08:00", "08:50"))).isFalse();
+        assertThat(clash(session("S", "08:00", "08:50"), session("U", "08:00", "08:50"))).isFalse();
+    }
+
+    @Test
+    void partialSlotsCountAsOccupied() {
+        // 08:02-08:53 holds the 08:00 and 08:50 slots in full
+        ScheduleEntry offGrid = session("M", "08:02", "08:53");
+        assertThat(clash(offGrid, session("M", "07:55", "08:01"))).isTrue();
+        assertThat(clash(offGrid, session("M", "08:54", "09:30"))).isTrue();
+        assertThat(clash(offGrid, session("M", "07:55", "08:00"))).isFalse();
+        assertThat(clash(offGrid, session("M", "08:55", "09:30"))).isFalse();
+    }
+
+    @Test
+    void slotsAcrossWordBoundariesAreSet() {
+        // On Monday, 05:15-05:30 spans the first two 64-bit words; other days start mid-word
+        ScheduleEntry crossing = session("UMTWRFS", "05:15", "05:30");
+        for (String day : List.of("U", "M", "T", "W", "R", "F", "S")) {
+            assertThat(clash(crossing, session(day, "05:15", "05:20"))).as(day).isTrue();
+            assertThat(clash(crossing, session(day, "05:25", "05:30"))).as(day).isTrue();
+        }
+    }
+
+    @Test
+    void sessionsPastMidnightStayOnTheirDay() {
+        ScheduleEntry late = session("M", "23:30", "24:30");
+        assertThat(clash(late, session("M", "23:55", "24:00"))).isTrue();
+        assertThat(clash(late, session("T", "00:00", "00:30"))).isFalse();
+    }
+
+    @Test
+    void schedulesWithoutTimesOccupyNothing() {
+        ScheduleEntry tba = new ScheduleEntry(null, null, null, null, "UT", null, null, null);
+        ScheduleEntry noDays = new ScheduleEntry(null, 480, 530, null, null, null, null, null);
+
+        assertThat(WeekSlots.of(List.of(tba, noDays))).containsOnly(0L);
+        assertThat(clash(tba, session("UT", "00:00", "24:00"))).isFalse();
+    }
+
+    @Test
+    void removeUndoesAdd() {
+        long[] occupied = WeekSlots.of(List.of(session("UT", "08:00", "08:50")));
+        long[] before = occupied.clone();
+        long[] added = WeekSlots.of(List.of(session("MW", "10:00", "11:15")));
+
+        WeekSlots.add(occupied, added);
+        assertThat(WeekSlots.overlaps(occupied, added)).isTrue();
+        WeekSlots.remove(occupied, added);
+        assertThat(occupied).isEqualTo(before);
+    }
+
+    private static boolean clash(ScheduleEntry a, ScheduleEntry b) {
+        boolean clash = WeekSlots.overlaps(WeekSlots.of(List.of(a)), WeekSlots.of(List.of(b)));
+        assertThat(WeekSlots.overlaps(WeekSlots.of(List.of(b)), WeekSlots.of(List.of(a)))).isEqualTo(clash);
+        return clash;
+    }
+
+    private static ScheduleEntry session(String days, String start, String end) {
+        return new ScheduleEntry(null, minutes(start), minutes(end), null, days, null, null, null);
+    }
+
+    private static int minutes(String time) {
+        String[] parts = time.split(":");
+        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+}